@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_BOOKER_ID;
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_OWNER_ID;
+
+/**
+ * Booker and owner booking listings: offset paging versus a keyset cursor at depth {@code depth}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingServiceBenchmark extends ShareItBenchmarkState {
+
+    @Param({"ALL", "PAST", "FUTURE", "WAITING"})
+    public String state;
+
+    @Param({"0", "1000", "5000"})
+    public long depth;
+
+    @Param({"20"})
+    public int size;
+
+    private BookingService bookingService;
+    private KeysetCursor bookerCursor;
+    private KeysetCursor ownerCursor;
+
+    @Override
+    protected void prepare() {
+        bookingService = context.getBean(BookingService.class);
+        if (depth > 0) {
+            bookerCursor = cursorAt(bookingService.findByBookerIdAndState(HEAVY_BOOKER_ID, state, depth - 1, 1));
+            ownerCursor = cursorAt(bookingService.findByItemOwnerIdAndState(HEAVY_OWNER_ID, state, depth - 1, 1));
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookerOffset() {
+        return bookingService.findByBookerIdAndState(HEAVY_BOOKER_ID, state, depth, size);
+    }
+
+    @Benchmark
+    public KeysetPage<BookingResponse> bookerKeyset() {
+        return bookingService.findByBookerIdAndState(HEAVY_BOOKER_ID, state, bookerCursor, size);
+    }
+
+    @Benchmark
+    public List<BookingResponse> ownerOffset() {
+        return bookingService.findByItemOwnerIdAndState(HEAVY_OWNER_ID, state, depth, size);
+    }
+
+    @Benchmark
+    public KeysetPage<BookingResponse> ownerKeyset() {
+        return bookingService.findByItemOwnerIdAndState(HEAVY_OWNER_ID, state, ownerCursor, size);
+    }
+
+    private KeysetCursor cursorAt(List<BookingResponse> previous) {
+        if (previous.isEmpty())
+            return null;
+        BookingResponse last = previous.get(0);
+        return KeysetCursor.of(last.getStart(), last.getId());
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_OWNER_ID;
+import static ru.practicum.shareit.booking.BookingSpecifications.*;
+
+/**
+ * Owner booking listing in a single transaction: state specifications versus the former per-state JPQL queries,
+ * which {@link #derivedQueries()} reproduces together with the count query for {@code Page}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingStateQueryBenchmark extends ShareItBenchmarkState {
+    private static final String OWNER_BOOKINGS = "from Booking as bo where bo.item.owner.id = :ownerId";
+
+    @Param({"ALL", "PAST", "FUTURE", "WAITING"})
+    public String state;
+
+    @Param({"0", "1000"})
+    public long depth;
+
+    @Param({"20"})
+    public int size;
+
+    private BookingRepository bookingRepository;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    protected void prepare() {
+        bookingRepository = context.getBean(BookingRepository.class);
+        em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @Benchmark
+    public List<BookingResponse> specification() {
+        return transactionTemplate.execute(status -> {
+            BookingState bookingState = BookingState.from(state);
+            return bookingRepository.findResponses(hasRole(BookingRole.OWNER, HEAVY_OWNER_ID)
+                            .and(inState(bookingState, LocalDateTime.now())),
+                    byStartAndId(BookingRole.OWNER.direction(bookingState)), depth, size);
+        });
+    }
+
+    @Benchmark
+    public List<BookingResponse> derivedQueries() {
+        return transactionTemplate.execute(status -> {
+            String where = OWNER_BOOKINGS + condition();
+            List<Booking> bookings = bind(em.createQuery("select bo " + where + " order by bo.start desc",
+                    Booking.class))
+                    .setFirstResult((int) depth)
+                    .setMaxResults(size)
+                    .getResultList();
+            bind(em.createQuery("select count(bo) " + where, Long.class)).getSingleResult();
+            return bookings.stream().map(BookingMapper::toBookingResponse).collect(Collectors.toList());
+        });
+    }
+
+    private String condition() {
+        switch (state) {
+            case "PAST":
+                return " and bo.end < :now";
+            case "FUTURE":
+                return " and bo.start > :now";
+            case "WAITING":
+                return " and bo.status = :status";
+            default:
+                return "";
+        }
+    }
+
+    private <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        query.setParameter("ownerId", HEAVY_OWNER_ID);
+        if ("PAST".equals(state) || "FUTURE".equals(state))
+            query.setParameter("now", LocalDateTime.now());
+        if ("WAITING".equals(state))
+            query.setParameter("status", Status.WAITING);
+        return query;
+    }
+}
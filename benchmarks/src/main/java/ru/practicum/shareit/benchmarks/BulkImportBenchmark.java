@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports {@code users} users with {@code itemsPerUser} items each through the repositories in a single
+ * transaction. With {@code batchSize=0} every insert is a separate statement, as it was with IDENTITY keys.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkImportBenchmark extends ShareItBenchmarkState {
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"5"})
+    public int itemsPerUser;
+
+    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private TransactionTemplate transactionTemplate;
+    private long imported;
+
+    @Override
+    protected void prepare() {
+        userRepository = context.getBean(UserRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @Override
+    protected Map<String, Object> properties() {
+        Map<String, Object> properties = super.properties();
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", batchSize);
+        return properties;
+    }
+
+    @Benchmark
+    public int importUsersWithItems() {
+        return transactionTemplate.execute(status -> {
+            List<User> owners = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                long n = ++imported;
+                owners.add(new User().setName("import" + n).setEmail("import" + n + "@bench.local"));
+            }
+            userRepository.saveAll(owners);
+
+            List<Item> items = new ArrayList<>(users * itemsPerUser);
+            for (User owner : owners)
+                for (int i = 0; i < itemsPerUser; i++)
+                    items.add(new Item()
+                            .setName("Дрель " + owner.getId() + "-" + i)
+                            .setDescription("Импортированная дрель")
+                            .setAvailable(true)
+                            .setOwner(owner));
+            itemRepository.saveAll(items);
+            itemRepository.flush();
+            return items.size();
+        });
+    }
+}
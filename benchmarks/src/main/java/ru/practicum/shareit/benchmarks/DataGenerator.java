@@ -0,0 +1,178 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.entity.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty schema with a deterministic data set using batched JDBC inserts.
+ * User {@link #HEAVY_BOOKER_ID} books far more often than the others,
+ * user {@link #HEAVY_OWNER_ID} owns far more items.
+ * Bookings of the same item never overlap.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataGenerator {
+    public static final long HEAVY_BOOKER_ID = 1;
+    public static final long HEAVY_OWNER_ID = 2;
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] NOUNS = {"Дрель", "Пила", "Отвертка", "Лестница", "Палатка", "Велосипед",
+            "Камера", "Проектор", "Перфоратор", "Байдарка"};
+    private static final String[] ADJECTIVES = {"аккумуляторная", "походная", "складная", "профессиональная",
+            "компактная", "надежная"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataScale scale;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    public void generate() {
+        insertUsers();
+        int requests = insertRequests();
+        int items = insertItems(requests);
+        insertBookings(items);
+        insertItemBookingSummaries();
+        insertComments(items);
+        log.warn("Сгенерировано: пользователей {}, запросов {}, предметов {}", scale.getUsers(), requests, items);
+    }
+
+    private void insertUsers() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= scale.getUsers(); i++)
+            rows.add(new Object[]{i, "user" + i, "user" + i + "@bench.local"});
+        batch("insert into users (id, name, email) values (?, ?, ?)", rows);
+        restartSequence("users_seq", rows.size() + 1);
+    }
+
+    private int insertRequests() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long requestor = 1; requestor <= scale.getUsers(); requestor++)
+            for (int i = 0; i < scale.getRequestsPerUser(); i++)
+                rows.add(new Object[]{rows.size() + 1, "Нужна " + noun().toLowerCase(), requestor,
+                        Timestamp.valueOf(now.minusMinutes(random.nextInt(100_000)))});
+        batch("insert into requests (id, description, requestor_id, created) values (?, ?, ?, ?)", rows);
+        restartSequence("requests_seq", rows.size() + 1);
+        return rows.size();
+    }
+
+    private int insertItems(int requests) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long owner = 1; owner <= scale.getUsers(); owner++) {
+            int count = scale.getItemsPerUser() + (owner == HEAVY_OWNER_ID ? scale.getHeavyOwnerItems() : 0);
+            for (int i = 0; i < count; i++) {
+                String noun = noun();
+                Long request = requests > 0 && random.nextInt(20) == 0 ? 1L + random.nextInt(requests) : null;
+                int id = rows.size() + 1;
+                rows.add(new Object[]{id, noun + " " + id, adjective() + " " + noun.toLowerCase(),
+                        random.nextInt(10) != 0, owner, request});
+            }
+        }
+        batch("insert into items (id, name, description, is_available, owner_id, request_id)"
+                + " values (?, ?, ?, ?, ?, ?)", rows);
+        restartSequence("items_seq", rows.size() + 1);
+        return rows.size();
+    }
+
+    private void insertBookings(int items) {
+        long[] owners = jdbcTemplate.queryForList("select owner_id from items order by id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        int[] slots = new int[items];
+        LocalDateTime origin = now.minusHours(6L * scale.getBookingsPerItem());
+        List<Object[]> rows = new ArrayList<>();
+        for (int item = 0; item < items; item++) {
+            for (int i = 0; i < scale.getBookingsPerItem(); i++) {
+                long booker = randomUserExcept(owners[item]);
+                rows.add(booking(rows.size() + 1, origin, slots[item]++, booker, item + 1));
+            }
+        }
+        for (int i = 0; i < scale.getHeavyBookerBookings(); i++) {
+            int item = random.nextInt(items);
+            if (owners[item] == HEAVY_BOOKER_ID)
+                item = (item + 1) % items;
+            rows.add(booking(rows.size() + 1, origin, slots[item]++, HEAVY_BOOKER_ID, item + 1));
+        }
+        batch("insert into bookings (id, start_date, end_date, status, booker_id, item_id) values (?, ?, ?, ?, ?, ?)",
+                rows);
+        restartSequence("bookings_seq", rows.size() + 1);
+    }
+
+    /**
+     * The last and next approved booking summary is built with the same statement as in migration V5.
+     */
+    private void insertItemBookingSummaries() {
+        jdbcTemplate.update("insert into item_booking_summary (item_id, last_booking_id, last_booker_id, last_start,"
+                + " next_booking_id, next_booker_id, next_start)"
+                + " select i.id, l.id, l.booker_id, l.start_date, n.id, n.booker_id, n.start_date"
+                + " from items as i"
+                + " left join (select b.item_id, b.id, b.booker_id, b.start_date, row_number() over"
+                + " (partition by b.item_id order by b.start_date desc) as rn from bookings as b"
+                + " where b.status = 'APPROVED' and b.start_date < ?) as l on l.item_id = i.id and l.rn = 1"
+                + " left join (select b.item_id, b.id, b.booker_id, b.start_date, row_number() over"
+                + " (partition by b.item_id order by b.start_date asc) as rn from bookings as b"
+                + " where b.status = 'APPROVED' and b.start_date > ?) as n on n.item_id = i.id and n.rn = 1"
+                + " where l.id is not null or n.id is not null", Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+
+    private void insertComments(int items) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long item = 1; item <= items; item++)
+            for (int i = 0; i < scale.getCommentsPerItem(); i++)
+                rows.add(new Object[]{rows.size() + 1, "Отзыв " + (rows.size() + 1), item,
+                        1L + random.nextInt(scale.getUsers()),
+                        Timestamp.valueOf(now.minusMinutes(random.nextInt(100_000)))});
+        batch("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)", rows);
+        restartSequence("comments_seq", rows.size() + 1);
+    }
+
+    private Object[] booking(long id, LocalDateTime origin, int slot, long booker, long item) {
+        LocalDateTime start = origin.plusHours(12L * slot);
+        return new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(11)), status().name(),
+                booker, item};
+    }
+
+    /**
+     * Rows backed by a sequence are inserted with explicit ids, then the sequence is moved past them.
+     */
+    private void restartSequence(String sequence, long next) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + next);
+    }
+
+    private Status status() {
+        int roll = random.nextInt(100);
+        if (roll < 60)
+            return Status.APPROVED;
+        if (roll < 80)
+            return Status.WAITING;
+        if (roll < 95)
+            return Status.REJECTED;
+        return Status.CANCELED;
+    }
+
+    private long randomUserExcept(long excluded) {
+        long user = 1L + random.nextInt(scale.getUsers());
+        return user == excluded ? user % scale.getUsers() + 1 : user;
+    }
+
+    private String noun() {
+        return NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    private String adjective() {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE)
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Cardinalities of the generated data set, overridden by the {@code bench.*} system properties.
+ */
+@Getter
+@Builder
+public class DataScale {
+    private final int users;
+    private final int requestsPerUser;
+    private final int itemsPerUser;
+    private final int bookingsPerItem;
+    private final int commentsPerItem;
+    private final int heavyBookerBookings;
+    private final int heavyOwnerItems;
+
+    public static DataScale fromSystemProperties() {
+        return DataScale.builder()
+                .users(Integer.getInteger("bench.users", 1_000))
+                .requestsPerUser(Integer.getInteger("bench.requestsPerUser", 2))
+                .itemsPerUser(Integer.getInteger("bench.itemsPerUser", 5))
+                .bookingsPerItem(Integer.getInteger("bench.bookingsPerItem", 10))
+                .commentsPerItem(Integer.getInteger("bench.commentsPerItem", 3))
+                .heavyBookerBookings(Integer.getInteger("bench.heavyBookerBookings", 10_000))
+                .heavyOwnerItems(Integer.getInteger("bench.heavyOwnerItems", 2_000))
+                .build();
+    }
+}
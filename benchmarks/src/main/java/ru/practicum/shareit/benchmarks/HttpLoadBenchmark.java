@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_BOOKER_ID;
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_OWNER_ID;
+
+/**
+ * Load test of the HTTP layer: {@code @Threads} clients concurrently read bookings and items through Tomcat
+ * running on a platform thread pool ({@code threads=platform}) and on virtual threads
+ * ({@code threads=virtual}, requires Java 21). The Hikari pool is the same in both modes. {@code SampleTime} mode
+ * gives the latency distribution, including p0.99. The comparison only makes sense on PostgreSQL: in-memory H2
+ * never waits for I/O and its driver is synchronized.
+ */
+@Fork(1)
+@Threads(256)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HttpLoadBenchmark extends ShareItBenchmarkState {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"20"})
+    public int poolSize;
+
+    private HttpClient client;
+    private String baseUrl;
+    private long maxItemId;
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected Map<String, Object> properties() {
+        Map<String, Object> properties = super.properties();
+        properties.put("server.port", "0");
+        properties.put("shareit.threads.virtual.enabled", String.valueOf("virtual".equals(threads)));
+        properties.put("spring.datasource.hikari.maximum-pool-size", poolSize);
+        properties.put("spring.datasource.hikari.connection-timeout", "30000");
+        properties.put("logging.level.org.springframework.boot.web.embedded.tomcat", "WARN");
+        return properties;
+    }
+
+    @Override
+    protected void prepare() {
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        maxItemId = context.getBean(JdbcTemplate.class)
+                .queryForObject("select max(id) from items", Long.class);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Benchmark
+    public int bookerBookings() throws IOException, InterruptedException {
+        return get("/bookings?state=ALL&from=0&size=20", HEAVY_BOOKER_ID);
+    }
+
+    @Benchmark
+    public int ownerBookings() throws IOException, InterruptedException {
+        return get("/bookings/owner?state=ALL&from=0&size=20", HEAVY_OWNER_ID);
+    }
+
+    @Benchmark
+    public int item() throws IOException, InterruptedException {
+        return get("/items/" + ThreadLocalRandom.current().nextLong(1, maxItemId + 1), HEAVY_OWNER_ID);
+    }
+
+    private int get(String path, long userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("HTTP " + response.statusCode() + " для " + path);
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.ItemLockManager;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_BOOKER_ID;
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_OWNER_ID;
+
+/**
+ * Throughput of creating bookings under the item lock: {@code @Threads} clients book {@code items} items.
+ * A thousand items hardly ever collide on the lock stripes, four hot items queue the clients behind the
+ * transaction that holds the lock until commit. {@code lockOnly} measures the lock in an empty transaction,
+ * {@code save} the full {@link BookingService#save}. Booking intervals never overlap so that every call reaches
+ * the insert. The {@code lock=advisory} mode runs with {@code -p database=postgres}.
+ */
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemLockBenchmark extends ShareItBenchmarkState {
+
+    @Param({"1000", "4"})
+    public int items;
+
+    @Param({"striped"})
+    public String lock;
+
+    private final AtomicLong slots = new AtomicLong();
+    private BookingService bookingService;
+    private ItemLockManager itemLockManager;
+    private TransactionTemplate transactionTemplate;
+    private long[] itemIds;
+    private LocalDateTime base;
+
+    @Override
+    protected Map<String, Object> properties() {
+        Map<String, Object> properties = super.properties();
+        properties.put("shareit.booking.item-lock", lock);
+        return properties;
+    }
+
+    @Override
+    protected void prepare() {
+        bookingService = context.getBean(BookingService.class);
+        itemLockManager = context.getBean(ItemLockManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        itemIds = context.getBean(JdbcTemplate.class)
+                .queryForList("select id from items where owner_id = ? and is_available = true order by id limit ?",
+                        Long.class, HEAVY_OWNER_ID, items).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        base = LocalDateTime.now().plusYears(10).withNano(0);
+    }
+
+    @Benchmark
+    public void lockOnly() {
+        long itemId = nextItemId();
+        transactionTemplate.executeWithoutResult(status -> itemLockManager.lock(itemId));
+    }
+
+    @Benchmark
+    public BookingResponse save() {
+        LocalDateTime start = base.plusHours(2 * slots.getAndIncrement());
+        return bookingService.save(HEAVY_BOOKER_ID, new CreateBookingRequest(nextItemId(), start, start.plusHours(1)));
+    }
+
+    private long nextItemId() {
+        return itemIds[ThreadLocalRandom.current().nextInt(itemIds.length)];
+    }
+}
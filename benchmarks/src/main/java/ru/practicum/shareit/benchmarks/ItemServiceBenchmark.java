@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.GetItemResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmarks.DataGenerator.HEAVY_OWNER_ID;
+
+/**
+ * Owner item listing with the booking and comment summary, and text search.
+ * The {@code postgres} engine only makes sense together with {@code -p database=postgres}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemServiceBenchmark extends ShareItBenchmarkState {
+
+    @Param({"like", "memory"})
+    public String searchEngine;
+
+    @Param({"0", "1000"})
+    public long depth;
+
+    @Param({"20"})
+    public int size;
+
+    @Param({"дрель", "походная палатка"})
+    public String text;
+
+    private ItemService itemService;
+    private KeysetCursor ownerCursor;
+
+    @Override
+    protected Map<String, Object> properties() {
+        Map<String, Object> properties = super.properties();
+        properties.put("shareit.item.search.engine", searchEngine);
+        return properties;
+    }
+
+    @Override
+    protected void prepare() {
+        itemService = context.getBean(ItemService.class);
+        if (depth > 0) {
+            List<GetItemResponse> previous = itemService.findByOwnerId(HEAVY_OWNER_ID, depth - 1, 1);
+            ownerCursor = previous.isEmpty() ? null : KeysetCursor.of(previous.get(0).getId());
+        }
+    }
+
+    @Benchmark
+    public List<GetItemResponse> ownerItemsOffset() {
+        return itemService.findByOwnerId(HEAVY_OWNER_ID, depth, size);
+    }
+
+    @Benchmark
+    public KeysetPage<GetItemResponse> ownerItemsKeyset() {
+        return itemService.findByOwnerId(HEAVY_OWNER_ID, ownerCursor, size);
+    }
+
+    @Benchmark
+    public List<ItemResponse> search() {
+        return itemService.searchAvailableItemsByText(text, 0L, size);
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.GetItemResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.entity.Comment;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.request.dto.GetRequestResponse;
+import ru.practicum.shareit.request.entity.Request;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mappers. {@link #bookingShortSpelProjection()} reproduces the former {@code BookingShort}
+ * SpEL projection as the baseline; check allocations with {@code -prof gc}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    public interface SpelBookingShort {
+        long getId();
+
+        @Value("#{target.booker.id}")
+        long getBookerId();
+    }
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    private User user;
+    private Item item;
+    private Booking booking;
+    private Comment comment;
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        user = new User(1L, "user", "user@bench.local");
+        User booker = new User(2L, "booker", "booker@bench.local");
+        request = new Request().setDescription("Нужна дрель").setRequestor(booker);
+        item = new Item().setId(1L).setName("Дрель").setDescription("Аккумуляторная дрель").setAvailable(true)
+                .setOwner(user).setRequest(request);
+        request.setItems(List.of(item));
+        booking = new Booking().setId(1L).setStart(LocalDateTime.now()).setEnd(LocalDateTime.now().plusDays(1))
+                .setStatus(Status.APPROVED).setBooker(booker).setItem(item);
+        comment = new Comment().setId(1L).setText("Отличная дрель").setItem(item).setAuthor(booker);
+    }
+
+    @Benchmark
+    public BookingResponse bookingResponse() {
+        return BookingMapper.toBookingResponse(booking);
+    }
+
+    @Benchmark
+    public BookingShort bookingShort() {
+        return BookingMapper.toBookingDtoShort(booking);
+    }
+
+    @Benchmark
+    public long bookingShortSpelProjection() {
+        SpelBookingShort projection = projectionFactory.createProjection(SpelBookingShort.class, booking);
+        return projection.getId() + projection.getBookerId();
+    }
+
+    @Benchmark
+    public ItemResponse itemResponse() {
+        return ItemMapper.toItemResponse(item);
+    }
+
+    @Benchmark
+    public GetItemResponse getItemResponse() {
+        BookingShort last = BookingMapper.toBookingDtoShort(booking);
+        return ItemMapper.toGetItemResponse(item, last, null, List.of(CommentMapper.toCommentResponse(comment)));
+    }
+
+    @Benchmark
+    public CommentResponse commentResponse() {
+        return CommentMapper.toCommentResponse(comment);
+    }
+
+    @Benchmark
+    public UserResponse userResponse() {
+        return UserMapper.toUserResponse(user);
+    }
+
+    @Benchmark
+    public GetRequestResponse requestResponse() {
+        return RequestMapper.toGetRequestResponse(request);
+    }
+}
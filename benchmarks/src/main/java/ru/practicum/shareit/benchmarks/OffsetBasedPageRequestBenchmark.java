@@ -0,0 +1,64 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.util.Constants.SORT_BY_START_DESC;
+
+/**
+ * Cost of building the page request on every controller call compared with {@link PageRequest}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OffsetBasedPageRequestBenchmark {
+
+    @Param({"0", "1000"})
+    public long from;
+
+    @Param({"20"})
+    public int size;
+
+    private final Pageable page = new OffsetBasedPageRequest(1000, 20, SORT_BY_START_DESC);
+
+    @Benchmark
+    public Pageable offsetBased() {
+        return new OffsetBasedPageRequest(from, size, SORT_BY_START_DESC);
+    }
+
+    @Benchmark
+    public Pageable pageRequest() {
+        return PageRequest.of((int) (from / size), size, SORT_BY_START_DESC);
+    }
+
+    @Benchmark
+    public Pageable next() {
+        return page.next();
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return page.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOf() {
+        return page.equals(new OffsetBasedPageRequest(1000, 20, SORT_BY_START_DESC));
+    }
+}
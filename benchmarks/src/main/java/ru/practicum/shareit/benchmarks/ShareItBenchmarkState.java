@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Scope;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts the application context (without the web layer by default) on the selected database, recreates the schema
+ * with the migrations and fills it with {@link DataGenerator}. The {@code postgres} database is taken from the
+ * {@code bench.postgres.url}, {@code bench.postgres.user} and {@code bench.postgres.password} system properties.
+ */
+@State(Scope.Benchmark)
+public abstract class ShareItBenchmarkState {
+    private static final String H2_URL = "jdbc:h2:mem:shareit-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Param({"h2"})
+    public String database;
+
+    protected ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(webApplicationType())
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments());
+
+        Flyway flyway = context.getBean(Flyway.class);
+        flyway.clean();
+        flyway.migrate();
+        new DataGenerator(context.getBean(JdbcTemplate.class), DataScale.fromSystemProperties()).generate();
+
+        context.getBean(BookingIntervalIndex.class).warmUp();
+        context.getBeanProvider(InMemoryItemSearchEngine.class).ifAvailable(InMemoryItemSearchEngine::warmUp);
+        prepare();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    /**
+     * Called after the data is generated: the benchmark looks up its beans and prepares cursors here.
+     */
+    protected abstract void prepare();
+
+    private String[] arguments() {
+        return properties().entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Passed as command line arguments so that they override the log levels from application.properties.
+     */
+    protected Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        if ("postgres".equals(database)) {
+            properties.put("spring.datasource.url", System.getProperty("bench.postgres.url",
+                    "jdbc:postgresql://localhost:5432/shareit"));
+            properties.put("spring.datasource.username", System.getProperty("bench.postgres.user", "shareit"));
+            properties.put("spring.datasource.password", System.getProperty("bench.postgres.password", "shareit"));
+        } else {
+            properties.put("spring.datasource.url", H2_URL);
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+        }
+        properties.put("spring.flyway.clean-disabled", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.ru.practicum.shareit", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("logging.level.org.springframework.transaction.interceptor", "WARN");
+        properties.put("logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN");
+        return properties;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * {@link ItemLockManager} for several application nodes sharing one PostgreSQL database. After the local stripe,
+ * which keeps the threads of this node from queueing on the database with their connections, the item is locked
+ * with {@code pg_advisory_xact_lock(item_id)}, released by PostgreSQL when the transaction ends. The node-local
+ * {@link BookingIntervalIndex} misses the writes of other nodes, so overlaps are checked with a query under the lock.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.item-lock", havingValue = "advisory")
+public class AdvisoryItemLockManager extends StripedItemLockManager {
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdvisoryItemLockManager(@Value("${shareit.booking.item-lock.stripes:1024}") int stripes,
+                                   @Value("${shareit.booking.item-lock.timeout:2s}") Duration timeout,
+                                   MeterRegistry meterRegistry,
+                                   JdbcTemplate jdbcTemplate) {
+        super(stripes, timeout, meterRegistry);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void lockAll(Collection<Long> itemIds) {
+        super.lockAll(itemIds);
+        itemIds.stream()
+                .distinct()
+                .sorted()
+                .forEach(itemId -> jdbcTemplate.query("select pg_advisory_xact_lock(?)", rs -> null, itemId));
+    }
+
+    @Override
+    public boolean sharedAcrossNodes() {
+        return true;
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.LineFormat;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static ru.practicum.shareit.util.Constants.TOTAL_COUNT_HEADER;
+import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Validated
+@RequestMapping(path = "/bookings")
+public class BookingController {
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public BookingResponse save(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                @RequestBody @Valid CreateBookingRequest createBookingDto) {
+        return bookingService.save(bookerId, createBookingDto);
+    }
+
+    @PostMapping("/batch")
+    public List<CreateBookingResult> saveAll(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                             @RequestBody @NotEmpty @Size(max = 500)
+                                             List<@Valid CreateBookingRequest> createBookingDtos) {
+        return bookingService.saveAll(bookerId, createBookingDtos);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public BookingResponse update(@PathVariable Long bookingId,
+                                  @RequestHeader(USER_ID_HEADER) Long ownerId,
+                                  @RequestParam boolean approved) {
+        return bookingService.update(bookingId, ownerId, approved);
+    }
+
+    @GetMapping("{bookingId}")
+    public BookingResponse findByIdAndUserId(@PathVariable Long bookingId,
+                                             @RequestHeader(USER_ID_HEADER) Long userId) {
+        return bookingService.findByIdAndUserId(bookingId, userId);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BookingResponse>> findByBookerIdAndState(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                                                        @RequestParam(defaultValue = "ALL") String state,
+                                                                        @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                                        @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "false") boolean withTotal) {
+        ResponseEntity<List<BookingResponse>> response = cursor == null
+                ? ResponseEntity.ok(bookingService.findByBookerIdAndState(bookerId, state, from, size))
+                : bookingService.findByBookerIdAndState(bookerId, state, KeysetCursor.decodeWithPosition(cursor), size).toResponseEntity();
+        return withTotal ? addTotal(response, () -> bookingService.countByBookerIdAndState(bookerId, state)) : response;
+    }
+
+    @GetMapping("/export")
+    public void exportByBookerIdAndState(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                         @RequestParam(defaultValue = "ALL") String state,
+                                         @RequestParam(defaultValue = "NDJSON") LineFormat format,
+                                         HttpServletResponse response) throws IOException {
+        BookingExportWriter writer = new BookingExportWriter(format, response, objectMapper);
+        bookingService.exportByBookerIdAndState(bookerId, state, writer);
+        writer.finish();
+    }
+
+    @GetMapping("/owner/export")
+    public void exportByItemOwnerIdAndState(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                            @RequestParam(defaultValue = "ALL") String state,
+                                            @RequestParam(defaultValue = "NDJSON") LineFormat format,
+                                            HttpServletResponse response) throws IOException {
+        BookingExportWriter writer = new BookingExportWriter(format, response, objectMapper);
+        bookingService.exportByItemOwnerIdAndState(ownerId, state, writer);
+        writer.finish();
+    }
+
+    @GetMapping("/owner")
+    public ResponseEntity<List<BookingResponse>> findByItemOwnerIdAndState(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                                           @RequestParam(defaultValue = "ALL") String state,
+                                                                           @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                                           @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "false") boolean withTotal) {
+        ResponseEntity<List<BookingResponse>> response = cursor == null
+                ? ResponseEntity.ok(bookingService.findByItemOwnerIdAndState(ownerId, state, from, size))
+                : bookingService.findByItemOwnerIdAndState(ownerId, state, KeysetCursor.decodeWithPosition(cursor), size).toResponseEntity();
+        return withTotal ? addTotal(response, () -> bookingService.countByItemOwnerIdAndState(ownerId, state)) : response;
+    }
+
+    /**
+     * Totals are opt-in: the lists never run a count query unless the client asks for {@code withTotal=true}.
+     */
+    private static <T> ResponseEntity<T> addTotal(ResponseEntity<T> response, LongSupplier total) {
+        return ResponseEntity.ok()
+                .headers(response.getHeaders())
+                .header(TOTAL_COUNT_HEADER, String.valueOf(total.getAsLong()))
+                .body(response.getBody());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicted booking totals per role, user and state. Writes invalidate the totals of the booker and
+ * the owner; time-based states still drift as bookings start and end, so a total may lag by the expiry time.
+ */
+@Component
+public class BookingCountCache {
+    private final Cache<Key, Long> counts;
+
+    public BookingCountCache(@Value("${shareit.booking.count-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${shareit.booking.count-cache.expire-after-write:30s}") Duration expireAfterWrite,
+                             MeterRegistry meterRegistry) {
+        counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "bookings.count");
+    }
+
+    public long get(BookingRole role, long userId, BookingState state, LongSupplier count) {
+        return counts.get(new Key(role, userId, state), key -> count.getAsLong());
+    }
+
+    /**
+     * Invalidates now and once more after the current transaction commits, since a count running between the
+     * two still sees the old rows and caches the old total again.
+     */
+    public void invalidate(BookingRole role, long userId) {
+        evict(role, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(role, userId);
+                }
+            });
+        }
+    }
+
+    private void evict(BookingRole role, long userId) {
+        for (BookingState state : BookingState.values())
+            counts.invalidate(new Key(role, userId, state));
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final BookingRole role;
+        private final long userId;
+        private final BookingState state;
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.util.TimingWheel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves WAITING bookings whose start has passed to EXPIRED. Start times are kept in a {@link TimingWheel}:
+ * a booking is scheduled in O(1) once its transaction commits, the wheel is rebuilt at startup from one range scan
+ * of the {@code (status, start_date)} index, and every {@code shareit.booking.expiry.tick} milliseconds the due
+ * bookings are expired in batches of {@value #BATCH_SIZE}, one UPDATE each. Bookings approved or rejected meanwhile
+ * stay in the wheel and are skipped, as the UPDATE only matches WAITING ones. A batch holds the locks of its items,
+ * so an approval cannot commit between reading and updating the batch, and bumps the version, so an approval that
+ * read the booking earlier fails and is retried against EXPIRED. A batch that fails is retried on the next tick.
+ * Nodes with {@code shareit.scheduling.enabled=false} do not track bookings at all.
+ */
+@Slf4j
+@Component
+public class BookingExpiry {
+    public static final String METRIC_NAME = "shareit.booking.expired";
+    static final int BATCH_SIZE = 500;
+    static final int WHEEL_SIZE = 64;
+    static final int WHEEL_LEVELS = 4;
+
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingCountCache bookingCountCache;
+    private final ItemLockManager itemLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredCounter;
+    private final boolean enabled;
+    private final TimingWheel<BookingInterval> wheel;
+
+    public BookingExpiry(BookingRepository bookingRepository,
+                         BookingIntervalIndex bookingIntervalIndex,
+                         BookingCountCache bookingCountCache,
+                         ItemLockManager itemLockManager,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${shareit.scheduling.enabled:true}") boolean enabled,
+                         @Value("${shareit.booking.expiry.tick:1000}") long tickMillis) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingCountCache = bookingCountCache;
+        this.itemLockManager = itemLockManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredCounter = meterRegistry.counter(METRIC_NAME);
+        this.enabled = enabled;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, toEpochMillis(LocalDateTime.now()));
+        Gauge.builder("shareit.booking.expiry.scheduled", this, BookingExpiry::scheduled).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled)
+            return;
+        AtomicLong count = new AtomicLong();
+        try (Stream<BookingInterval> waiting = bookingRepository.findIntervalsByStatus(Status.WAITING)) {
+            waiting.forEach(interval -> {
+                schedule(interval);
+                count.incrementAndGet();
+            });
+        }
+        log.info("Колесо истечения броней построено, ожидающих броней: {}", count.get());
+    }
+
+    public void schedule(Booking booking) {
+        if (!enabled)
+            return;
+        BookingInterval interval = new BookingInterval(booking.getId(), booking.getItem().getId(),
+                booking.getStart(), booking.getEnd());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(interval);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(interval);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.tick:1000}")
+    public void expireDue() {
+        List<BookingInterval> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(toEpochMillis(LocalDateTime.now()), due::add);
+        }
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<BookingInterval> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+            try {
+                Integer expired = transactionTemplate.execute(status -> expire(batch));
+                expiredCounter.increment(expired == null ? 0 : expired);
+            } catch (RuntimeException e) {
+                log.warn("Истечение {} броней отложено до следующего такта: {}", due.size() - from, e.getMessage());
+                due.subList(from, due.size()).forEach(this::schedule);
+                return;
+            }
+        }
+    }
+
+    private int expire(List<BookingInterval> batch) {
+        itemLockManager.lockAll(batch.stream()
+                .map(BookingInterval::getItemId)
+                .collect(Collectors.toSet()));
+        List<Booking> waiting = bookingRepository.findWithItemByIdInAndStatus(batch.stream()
+                .map(BookingInterval::getId)
+                .collect(Collectors.toSet()), Status.WAITING);
+        if (waiting.isEmpty())
+            return 0;
+
+        int expired = bookingRepository.updateStatusByIdInAndStatus(waiting.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList()), Status.WAITING, Status.EXPIRED);
+        for (Booking booking : waiting) {
+            bookingIntervalIndex.remove(booking);
+            bookingCountCache.invalidate(BookingRole.BOOKER, booking.getBooker().getId());
+            bookingCountCache.invalidate(BookingRole.OWNER, booking.getItem().getOwner().getId());
+        }
+        log.debug("Истекли брони: {}", expired);
+        return expired;
+    }
+
+    private synchronized void schedule(BookingInterval interval) {
+        wheel.schedule(interval, toEpochMillis(interval.getStart()));
+    }
+
+    private synchronized int scheduled() {
+        return wheel.size();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
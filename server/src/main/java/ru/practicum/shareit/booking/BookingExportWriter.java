@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.util.LineExportWriter;
+import ru.practicum.shareit.util.LineFormat;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static ru.practicum.shareit.util.Constants.DATE_TIME_FORMATTER;
+
+class BookingExportWriter extends LineExportWriter<BookingResponse> {
+    static final String CSV_HEADER = "id,start,end,status,bookerId,itemId,itemName";
+
+    BookingExportWriter(LineFormat format, HttpServletResponse response, ObjectMapper objectMapper) {
+        super(format, response, objectMapper);
+    }
+
+    @Override
+    protected String csvHeader() {
+        return CSV_HEADER;
+    }
+
+    @Override
+    protected String toCsv(BookingResponse booking) {
+        return String.join(",",
+                String.valueOf(booking.getId()),
+                DATE_TIME_FORMATTER.format(booking.getStart()),
+                DATE_TIME_FORMATTER.format(booking.getEnd()),
+                booking.getStatus().name(),
+                String.valueOf(booking.getBooker().getId()),
+                String.valueOf(booking.getItem().getId()),
+                quote(booking.getItem().getName()));
+    }
+}
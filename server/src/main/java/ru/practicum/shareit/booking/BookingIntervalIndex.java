@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Per-item timeline of WAITING and APPROVED bookings used to reject overlapping bookings without a query.
+ * Bookings of one item never overlap each other (each of them has passed this check), so the only candidate
+ * for an overlap with {@code [start, end)} is the booking with the latest start before {@code end}.
+ * The index is changed only after the transaction commits; the {@code bookings_no_overlap} exclusion
+ * constraint stays the authoritative check for concurrent transactions.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    static final List<Status> BLOCKING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        AtomicLong count = new AtomicLong();
+        try (Stream<BookingInterval> intervals = bookingRepository.findIntervalsByStatusInAndEndAfter(BLOCKING_STATUSES,
+                LocalDateTime.now())) {
+            intervals.forEach(interval -> {
+                put(interval.getItemId(), interval.getId(), interval.getStart(), interval.getEnd());
+                count.incrementAndGet();
+            });
+        }
+        log.info("Индекс интервалов бронирования построен, интервалов: {}", count.get());
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        return overlaps(itemId, start, end, null);
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+        Timeline timeline = timelines.get(itemId);
+        return timeline != null && timeline.overlaps(toEpochMicros(start), toEpochMicros(end), excludedBookingId);
+    }
+
+    public void add(Booking booking) {
+        afterCommit(() -> put(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd()));
+    }
+
+    public void remove(Booking booking) {
+        afterCommit(() -> {
+            Timeline timeline = timelines.get(booking.getItem().getId());
+            if (timeline != null)
+                timeline.remove(toEpochMicros(booking.getStart()), booking.getId());
+        });
+    }
+
+    private void put(long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+        timelines.computeIfAbsent(itemId, id -> new Timeline())
+                .put(bookingId, toEpochMicros(start), toEpochMicros(end), toEpochMicros(LocalDateTime.now()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static final class Timeline {
+        private final NavigableMap<Long, long[]> intervals = new TreeMap<>();
+
+        synchronized boolean overlaps(long start, long end, Long excludedBookingId) {
+            Map.Entry<Long, long[]> candidate = intervals.lowerEntry(end);
+            if (candidate != null && excludedBookingId != null && candidate.getValue()[0] == excludedBookingId)
+                candidate = intervals.lowerEntry(candidate.getKey());
+            return candidate != null && candidate.getValue()[1] > start;
+        }
+
+        synchronized void put(long bookingId, long start, long end, long now) {
+            while (!intervals.isEmpty() && intervals.firstEntry().getValue()[1] <= now) {
+                intervals.pollFirstEntry();
+            }
+            intervals.put(start, new long[]{bookingId, end});
+        }
+
+        synchronized void remove(long start, long bookingId) {
+            long[] interval = intervals.get(start);
+            if (interval != null && interval[0] == bookingId)
+                intervals.remove(start);
+        }
+    }
+}
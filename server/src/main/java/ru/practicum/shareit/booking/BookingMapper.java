@@ -1,11 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import lombok.experimental.UtilityClass;
-import org.springframework.data.projection.ProjectionFactory;
-import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
@@ -21,7 +20,18 @@ public class BookingMapper {
     }
 
     public static BookingShort toBookingDtoShort(Booking booking) {
-        ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
-        return factory.createProjection(BookingShort.class, booking);
+        return new BookingShort(booking.getId(), booking.getBooker().getId());
+    }
+
+    public static BookingShort toLastBookingShort(ItemBookingSummary summary) {
+        if (summary == null || summary.getLastBookingId() == null)
+            return null;
+        return new BookingShort(summary.getLastBookingId(), summary.getLastBookerId());
+    }
+
+    public static BookingShort toNextBookingShort(ItemBookingSummary summary) {
+        if (summary == null || summary.getNextBookingId() == null)
+            return null;
+        return new BookingShort(summary.getNextBookingId(), summary.getNextBookerId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    Booking findFirstByBooker_IdAndItem_IdAndStatusAndEndIsBefore(Long authorId, Long itemId, Status approved,
+                                                                  LocalDateTime now);
+
+    /**
+     * Whether a booking of the item in one of the statuses intersects {@code (start, end)}, other than the one
+     * with {@code excludedId}; a booking not saved yet has id {@code 0}, which excludes nothing.
+     */
+    boolean existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(Long itemId, Collection<Status> statuses,
+                                                                        LocalDateTime end, LocalDateTime start,
+                                                                        Long excludedId);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingInterval(bo.id, bo.item.id, bo.start, bo.end) " +
+            "from Booking as bo " +
+            "where bo.status in :statuses and bo.end > :now")
+    Stream<BookingInterval> findIntervalsByStatusInAndEndAfter(@Param("statuses") Collection<Status> statuses,
+                                                              @Param("now") LocalDateTime now);
+
+    /**
+     * One range scan of the {@code (status, start_date)} index, fetched 500 rows at a time. Must be closed,
+     * within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.booking.dto.BookingInterval(bo.id, bo.item.id, bo.start, bo.end) " +
+            "from Booking as bo " +
+            "where bo.status = :status")
+    Stream<BookingInterval> findIntervalsByStatus(@Param("status") Status status);
+
+    @Query("select bo " +
+            "from Booking as bo " +
+            "join fetch bo.item " +
+            "where bo.id in :ids and bo.status = :status")
+    List<Booking> findWithItemByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    /**
+     * Bumps the version as well, so that a concurrent update holding the old state fails its optimistic check.
+     */
+    @Modifying
+    @Query("update Booking as bo " +
+            "set bo.status = :to, bo.version = bo.version + 1 " +
+            "where bo.id in :ids and bo.status = :from")
+    int updateStatusByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("from") Status from,
+                                    @Param("to") Status to);
+}
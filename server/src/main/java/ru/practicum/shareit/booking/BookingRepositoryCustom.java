@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Runs a single limited query without the count query {@code Page} results need, so a keyset page
+     * costs the same at any depth. Selects only the columns of {@link BookingResponse} through its constructor
+     * expression: the booker id comes from the foreign key and the item name from one join.
+     */
+    List<BookingResponse> findResponses(Specification<Booking> spec, Sort sort, int limit);
+
+    /**
+     * Same as {@link #findResponses(Specification, Sort, int)} starting at the given row, for offset pagination.
+     * An offset beyond the int range of JPA returns an empty list.
+     */
+    List<BookingResponse> findResponses(Specification<Booking> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Counts the matching bookings with one {@code count(*)} query, for the clients that ask for a total.
+     */
+    long count(Specification<Booking> spec);
+
+    /**
+     * Walks all matching bookings with a database cursor fetching {@value BookingRepositoryCustomImpl#FETCH_SIZE}
+     * rows at a time. The persistence context is cleared after every fetch, so the stream runs in constant memory
+     * but entities loaded earlier in the transaction become detached. Must be closed, within a transaction.
+     */
+    Stream<Booking> stream(Specification<Booking> spec, Sort sort);
+
+    /**
+     * The latest booking with the given status that started before {@code now}, one per item.
+     */
+    List<ItemBookingShort> findLastBookings(Collection<Long> itemIds, Status status, LocalDateTime now);
+
+    /**
+     * The earliest booking with the given status that starts after {@code now}, one per item.
+     */
+    List<ItemBookingShort> findNextBookings(Collection<Long> itemIds, Status status, LocalDateTime now);
+}
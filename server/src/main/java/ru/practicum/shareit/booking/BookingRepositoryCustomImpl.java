@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<BookingResponse> findResponses(Specification<Booking> spec, Sort sort, int limit) {
+        return findResponses(spec, sort, 0, limit);
+    }
+
+    @Override
+    public List<BookingResponse> findResponses(Specification<Booking> spec, Sort sort, long offset, int limit) {
+        if (offset > Integer.MAX_VALUE)
+            return Collections.emptyList();
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<BookingResponse> query = cb.createQuery(BookingResponse.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        query.select(cb.construct(BookingResponse.class,
+                        root.get("id"),
+                        root.get("start"),
+                        root.get("end"),
+                        root.get("status"),
+                        root.get("booker").get("id"),
+                        root.get("item").get("id"),
+                        root.get("item").get("name")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(toOrders(sort, root, cb));
+        return em.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long count(Specification<Booking> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        query.select(cb.count(root))
+                .where(spec.toPredicate(root, query, cb));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Stream<Booking> stream(Specification<Booking> spec, Sort sort) {
+        AtomicLong rows = new AtomicLong();
+        return em.createQuery(query(spec, sort))
+                .setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .peek(booking -> {
+                    if (rows.incrementAndGet() % FETCH_SIZE == 0)
+                        em.clear();
+                });
+    }
+
+    private CriteriaQuery<Booking> query(Specification<Booking> spec, Sort sort) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        root.fetch("booker");
+        root.fetch("item");
+
+        return query.select(root)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(toOrders(sort, root, cb));
+    }
+
+    @Override
+    public List<ItemBookingShort> findLastBookings(Collection<Long> itemIds, Status status, LocalDateTime now) {
+        return findItemBookings("Booking.findLastBookings", itemIds, status, now);
+    }
+
+    @Override
+    public List<ItemBookingShort> findNextBookings(Collection<Long> itemIds, Status status, LocalDateTime now) {
+        return findItemBookings("Booking.findNextBookings", itemIds, status, now);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ItemBookingShort> findItemBookings(String queryName, Collection<Long> itemIds, Status status,
+                                                    LocalDateTime now) {
+        return em.createNamedQuery(queryName)
+                .setParameter("itemIds", itemIds)
+                .setParameter("status", status.name())
+                .setParameter("now", now)
+                .getResultList();
+    }
+}
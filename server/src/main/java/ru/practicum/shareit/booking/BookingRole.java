@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Side of a booking a list is requested for.
+ */
+public enum BookingRole {
+    BOOKER,
+    OWNER;
+
+    /**
+     * A booker sees current bookings in chronological order, every other list is newest first.
+     */
+    public Sort.Direction direction(BookingState state) {
+        return this == BOOKER && state == BookingState.CURRENT ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BookingService {
+    BookingResponse save(Long bookerId, CreateBookingRequest createBookingRequest);
+
+    List<CreateBookingResult> saveAll(Long bookerId, List<CreateBookingRequest> createBookingRequests);
+
+    BookingResponse update(Long bookingId, Long ownerId, boolean approved);
+
+    BookingResponse findByIdAndUserId(Long bookingId, Long ownerOrBookerId);
+
+    List<BookingResponse> findByBookerIdAndState(Long bookerId, String state, Long from, int size);
+
+    List<BookingResponse> findByItemOwnerIdAndState(Long ownerId, String state, Long from, int size);
+
+    KeysetPage<BookingResponse> findByBookerIdAndState(Long bookerId, String state, KeysetCursor cursor, int size);
+
+    KeysetPage<BookingResponse> findByItemOwnerIdAndState(Long ownerId, String state, KeysetCursor cursor, int size);
+
+    /**
+     * Total of {@link #findByBookerIdAndState(Long, String, Long, int)} over all pages. Runs a count query only
+     * on a miss of {@link BookingCountCache}, so the list endpoints ask for it only when the client opts in.
+     */
+    long countByBookerIdAndState(Long bookerId, String state);
+
+    /**
+     * Same as {@link #countByBookerIdAndState(Long, String)} for the bookings of the owner's items.
+     */
+    long countByItemOwnerIdAndState(Long ownerId, String state);
+
+    /**
+     * Passes every booking of the booker in the state to {@code action} while it is read from a database cursor,
+     * in the order of {@link #findByBookerIdAndState(Long, String, Long, int)}, without collecting them.
+     */
+    void exportByBookerIdAndState(Long bookerId, String state, Consumer<BookingResponse> action);
+
+    /**
+     * Same as {@link #exportByBookerIdAndState(Long, String, Consumer)} for the bookings of the owner's items.
+     */
+    void exportByItemOwnerIdAndState(Long ownerId, String state, Consumer<BookingResponse> action);
+
+    Booking findById(Long id);
+}
\ No newline at end of file
@@ -0,0 +1,324 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.config.RetryOnConflict;
+import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+import static ru.practicum.shareit.booking.BookingSpecifications.*;
+
+@Service
+@Transactional(propagation = Propagation.REQUIRED)
+@RequiredArgsConstructor
+public class BookingServiceImpl implements BookingService {
+    private static final String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingCountCache bookingCountCache;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ItemLockManager itemLockManager;
+    private final BookingExpiry bookingExpiry;
+
+    @Override
+    public BookingResponse save(Long bookerId, CreateBookingRequest createBookingRequest) {
+
+        itemLockManager.lock(createBookingRequest.getItemId());
+        Item item = itemService.findByIdBypassingCache(createBookingRequest.getItemId());
+        Booking booking = newBooking(createBookingRequest, userService.findById(bookerId), item);
+        checkBookable(booking);
+        if (overlaps(booking))
+            throw new BookingOverlapException("Предмет уже забронирован на это время.");
+
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+        bookingIntervalIndex.add(savedBooking);
+        bookingExpiry.schedule(savedBooking);
+        invalidateCounts(savedBooking);
+        return BookingMapper.toBookingResponse(savedBooking);
+    }
+
+    /**
+     * Validates the whole batch against one user lookup and one {@code IN} query for the items, then inserts
+     * the valid bookings in one JDBC batch. Invalid elements are reported and skipped, the rest are saved.
+     */
+    @Override
+    public List<CreateBookingResult> saveAll(Long bookerId, List<CreateBookingRequest> createBookingRequests) {
+        User booker = userService.findById(bookerId);
+        Set<Long> itemIds = createBookingRequests.stream()
+                .map(CreateBookingRequest::getItemId)
+                .collect(Collectors.toSet());
+        itemLockManager.lockAll(itemIds);
+        Map<Long, Item> items = itemService.findAllByIdBypassingCache(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<CreateBookingResult> results = new ArrayList<>(createBookingRequests.size());
+        Map<Integer, Booking> bookings = new LinkedHashMap<>();
+        for (int i = 0; i < createBookingRequests.size(); i++) {
+            CreateBookingRequest createBookingRequest = createBookingRequests.get(i);
+            try {
+                Item item = items.get(createBookingRequest.getItemId());
+                if (item == null)
+                    throw new ItemNotFoundException(String.format("Предмет с id %s не найден.",
+                            createBookingRequest.getItemId()));
+                Booking booking = newBooking(createBookingRequest, booker, item);
+                checkBookable(booking);
+                if (overlaps(booking) || overlapsAny(booking, bookings.values()))
+                    throw new BookingOverlapException("Предмет уже забронирован на это время.");
+                bookings.put(i, booking);
+                results.add(new CreateBookingResult(i, null, null));
+            } catch (ItemNotFoundException | WrongUserIdException | ItemNotAvailableException
+                     | StartNotBeforeEndException | BookingOverlapException e) {
+                results.add(new CreateBookingResult(i, null, e.getMessage()));
+            }
+        }
+
+        try {
+            bookingRepository.saveAll(bookings.values());
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+        bookings.forEach((index, booking) -> {
+            bookingIntervalIndex.add(booking);
+            bookingExpiry.schedule(booking);
+            invalidateCounts(booking);
+            results.get(index).setBooking(BookingMapper.toBookingResponse(booking));
+        });
+        return results;
+    }
+
+    private static Booking newBooking(CreateBookingRequest createBookingRequest, User booker, Item item) {
+        return new Booking()
+                .setStart(createBookingRequest.getStart())
+                .setEnd(createBookingRequest.getEnd())
+                .setStatus(Status.WAITING)
+                .setBooker(booker)
+                .setItem(item);
+    }
+
+    private static void checkBookable(Booking booking) {
+        if (Objects.equals(booking.getItem().getOwner().getId(), booking.getBooker().getId()))
+            throw new WrongUserIdException("Создание брони не доступно для владельца предмета.");
+        if (!booking.getItem().getAvailable())
+            throw new ItemNotAvailableException("Предмет не доступен для бронирования.");
+        if (booking.getStart().isAfter(booking.getEnd()) || booking.getStart().isEqual(booking.getEnd()))
+            throw new StartNotBeforeEndException("Время начала использования вещи должно быть строго раньше " +
+                    "времени окончания.");
+    }
+
+    /**
+     * Checked under the item lock. Shared across nodes, the lock does not cover the local index, which misses
+     * rejections, cancellations and expiries done by the other nodes, so the database is asked instead.
+     */
+    private boolean overlaps(Booking booking) {
+        if (itemLockManager.sharedAcrossNodes())
+            return bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(
+                    booking.getItem().getId(), BookingIntervalIndex.BLOCKING_STATUSES, booking.getEnd(),
+                    booking.getStart(), booking.getId());
+        if (booking.getId() == 0)
+            return bookingIntervalIndex.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        return bookingIntervalIndex.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                booking.getId());
+    }
+
+    private static boolean overlapsAny(Booking booking, Collection<Booking> others) {
+        return others.stream().anyMatch(other -> Objects.equals(other.getItem().getId(), booking.getItem().getId())
+                && other.getStart().isBefore(booking.getEnd()) && booking.getStart().isBefore(other.getEnd()));
+    }
+
+    /**
+     * Inserts are flushed explicitly, as sequence ids no longer force them, so that a violation of the exclusion
+     * constraint surfaces in the service and not at commit.
+     */
+    private static RuntimeException translate(DataIntegrityViolationException e) {
+        if (String.valueOf(e.getMostSpecificCause().getMessage()).contains(NO_OVERLAP_CONSTRAINT))
+            return new BookingOverlapException("Предмет уже забронирован на это время.");
+        return e;
+    }
+
+    /**
+     * The status change is flushed before the summary and the index are touched, so that losing the race
+     * for the booking's version rolls back before any side effect; the retried call then sees the status
+     * set by the winner. The item lock orders approvals against new bookings of the item, the version still
+     * catches a booking read before the lock was taken.
+     */
+    @Override
+    @RetryOnConflict
+    public BookingResponse update(Long bookingId, Long ownerId, boolean approved) {
+        Booking oldBooking = findById(bookingId);
+        if (!Objects.equals(oldBooking.getItem().getOwner().getId(), ownerId))
+            throw new WrongUserIdException("Обновление статуса брони доступно только для владельцев предметов.");
+        itemLockManager.lock(oldBooking.getItem().getId());
+        if (!Objects.equals(oldBooking.getStatus(), Status.WAITING))
+            throw new StatusAlreadyChangedException(String.format("Статус был изменён владельцем предмета ранее на %s",
+                    oldBooking.getStatus()));
+        if (approved && overlaps(oldBooking))
+            throw new BookingOverlapException("Предмет уже забронирован на это время.");
+
+        Booking updatedBooking = bookingRepository.save(oldBooking.setStatus(approved ? Status.APPROVED : Status.REJECTED));
+        bookingRepository.flush();
+        if (approved)
+            itemBookingSummaries.approve(updatedBooking);
+        else
+            bookingIntervalIndex.remove(updatedBooking);
+        invalidateCounts(updatedBooking);
+        return BookingMapper.toBookingResponse(updatedBooking);
+    }
+
+    private void invalidateCounts(Booking booking) {
+        bookingCountCache.invalidate(BookingRole.BOOKER, booking.getBooker().getId());
+        bookingCountCache.invalidate(BookingRole.OWNER, booking.getItem().getOwner().getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingResponse findByIdAndUserId(Long bookingId, Long ownerOrBookerId) {
+        Booking booking = findById(bookingId);
+
+        if (!Objects.equals(booking.getItem().getOwner().getId(), ownerOrBookerId)
+                && !Objects.equals(booking.getBooker().getId(), ownerOrBookerId))
+            throw new WrongUserIdException(
+                    String.format("Пользователь с id %d не является владельцем " +
+                            "предмета или бронирующим, поэтому информация о брони недоступна.", ownerOrBookerId));
+
+        return BookingMapper.toBookingResponse(booking);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponse> findByBookerIdAndState(Long bookerId, String state, Long from, int size) {
+        userService.checkExists(bookerId);
+
+        return findList(BookingRole.BOOKER, bookerId, BookingState.from(state), from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponse> findByItemOwnerIdAndState(Long ownerId, String state, Long from, int size) {
+        userService.checkExists(ownerId);
+
+        return findList(BookingRole.OWNER, ownerId, BookingState.from(state), from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BookingResponse> findByBookerIdAndState(Long bookerId, String state, KeysetCursor cursor,
+                                                              int size) {
+        userService.checkExists(bookerId);
+
+        return findPage(BookingRole.BOOKER, bookerId, BookingState.from(state), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BookingResponse> findByItemOwnerIdAndState(Long ownerId, String state, KeysetCursor cursor,
+                                                                 int size) {
+        userService.checkExists(ownerId);
+
+        return findPage(BookingRole.OWNER, ownerId, BookingState.from(state), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByBookerIdAndState(Long bookerId, String state) {
+        userService.checkExists(bookerId);
+
+        return count(BookingRole.BOOKER, bookerId, BookingState.from(state));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByItemOwnerIdAndState(Long ownerId, String state) {
+        userService.checkExists(ownerId);
+
+        return count(BookingRole.OWNER, ownerId, BookingState.from(state));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByBookerIdAndState(Long bookerId, String state, Consumer<BookingResponse> action) {
+        userService.checkExists(bookerId);
+
+        export(BookingRole.BOOKER, bookerId, BookingState.from(state), action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByItemOwnerIdAndState(Long ownerId, String state, Consumer<BookingResponse> action) {
+        userService.checkExists(ownerId);
+
+        export(BookingRole.OWNER, ownerId, BookingState.from(state), action);
+    }
+
+    private void export(BookingRole role, long userId, BookingState state, Consumer<BookingResponse> action) {
+        try (Stream<Booking> bookings = bookingRepository.stream(filter(role, userId, state),
+                byStartAndId(role.direction(state)))) {
+            bookings.map(BookingMapper::toBookingResponse).forEach(action);
+        }
+    }
+
+    private long count(BookingRole role, long userId, BookingState state) {
+        return bookingCountCache.get(role, userId, state,
+                () -> bookingRepository.count(filter(role, userId, state)));
+    }
+
+    private List<BookingResponse> findList(BookingRole role, long userId, BookingState state, long from, int size) {
+        return bookingRepository.findResponses(filter(role, userId, state), byStartAndId(role.direction(state)),
+                from, size);
+    }
+
+    private KeysetPage<BookingResponse> findPage(BookingRole role, long userId, BookingState state,
+                                                 KeysetCursor cursor, int size) {
+        Sort.Direction direction = role.direction(state);
+        List<BookingResponse> bookings = bookingRepository.findResponses(filter(role, userId, state)
+                .and(seekAfter(cursor, direction)), byStartAndId(direction), size + 1);
+
+        return KeysetPage.of(bookings, size, booking -> KeysetCursor.of(booking.getStart(), booking.getId()));
+    }
+
+    private static Specification<Booking> filter(BookingRole role, long userId, BookingState state) {
+        return where(hasRole(role, userId)).and(inState(state, LocalDateTime.now()));
+    }
+
+    public Booking findById(Long id) {
+        return bookingRepository.findById(id).orElseThrow(
+                () -> new BookingNotFoundException(String.format("Бронь с id %d не найдена.", id)));
+    }
+}
\ No newline at end of file
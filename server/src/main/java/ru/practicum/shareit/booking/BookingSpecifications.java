@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+
+@UtilityClass
+public class BookingSpecifications {
+    public static Specification<Booking> hasBooker(long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> hasItemOwner(long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> hasRole(BookingRole role, long userId) {
+        return role == BookingRole.BOOKER ? hasBooker(userId) : hasItemOwner(userId);
+    }
+
+    /**
+     * Time-based states compare against {@code now}, the rest match the status of the same name. Every state maps
+     * to one fixed statement shape with bound parameters, so new states need no new repository methods.
+     */
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return (root, query, cb) -> cb.conjunction();
+            case CURRENT:
+                return (root, query, cb) -> cb.and(cb.lessThan(root.get("start"), now),
+                        cb.greaterThan(root.get("end"), now));
+            case PAST:
+                return (root, query, cb) -> cb.lessThan(root.get("end"), now);
+            case FUTURE:
+                return (root, query, cb) -> cb.greaterThan(root.get("start"), now);
+            default:
+                Status status = Status.valueOf(state.name());
+                return (root, query, cb) -> cb.equal(root.get("status"), status);
+        }
+    }
+
+    /**
+     * Seek predicate for the {@code (start, id)} order: rows strictly after the cursor in the given direction.
+     * The leading range on {@code start} alone lets the database use it as an index range condition.
+     */
+    public static Specification<Booking> seekAfter(KeysetCursor cursor, Sort.Direction direction) {
+        if (cursor == null)
+            return (root, query, cb) -> cb.conjunction();
+        if (direction.isAscending())
+            return (root, query, cb) -> cb.and(cb.greaterThanOrEqualTo(root.get("start"), cursor.getPosition()),
+                    cb.or(cb.greaterThan(root.get("start"), cursor.getPosition()),
+                            cb.greaterThan(root.get("id"), cursor.getId())));
+        return (root, query, cb) -> cb.and(cb.lessThanOrEqualTo(root.get("start"), cursor.getPosition()),
+                cb.or(cb.lessThan(root.get("start"), cursor.getPosition()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    public static Sort byStartAndId(Sort.Direction direction) {
+        return Sort.by(direction, "start", "id");
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.exception.UnknownStateException;
+
+/**
+ * Booking list filter passed as the {@code state} request parameter.
+ */
+public enum BookingState {
+    ALL,
+    CURRENT,
+    PAST,
+    FUTURE,
+    WAITING,
+    APPROVED,
+    REJECTED,
+    CANCELED,
+    EXPIRED;
+
+    public static BookingState from(String state) {
+        try {
+            return valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new UnknownStateException(String.format("Передано неподдерживаемое состояние бронирования %s",
+                    state));
+        }
+    }
+}
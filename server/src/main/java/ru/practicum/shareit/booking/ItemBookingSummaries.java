@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
+import ru.practicum.shareit.booking.entity.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code item_booking_summary} up to date: an approval moves the last or next booking of its item in place,
+ * and {@link #rollForward()} recomputes the items whose next booking has started, found through the index on
+ * {@code next_start}. Reads recompute the few stale rows the sweep has not reached yet without writing them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaries {
+    static final int ROLL_FORWARD_BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingSummary> findByItemIds(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        List<Long> stale = summaries.values().stream()
+                .filter(summary -> summary.isStale(now))
+                .map(ItemBookingSummary::getItemId)
+                .collect(Collectors.toList());
+        if (!stale.isEmpty()) {
+            stale.forEach(summaries::remove);
+            summaries.putAll(compute(stale, now));
+        }
+        return summaries;
+    }
+
+    /**
+     * Called in the transaction that approves the booking. The row is locked, so that concurrent approvals of
+     * the same item and the sweep do not overwrite each other.
+     */
+    @Transactional
+    public void approve(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        long itemId = booking.getItem().getId();
+        ItemBookingSummary summary = itemBookingSummaryRepository.findForUpdateByItemId(itemId)
+                .orElse(null);
+        if (summary == null)
+            summary = new ItemBookingSummary().setItemId(itemId);
+        else if (summary.isStale(now))
+            copy(compute(List.of(itemId), now).get(itemId), summary);
+
+        summary.include(booking.getId(), booking.getBooker().getId(), booking.getStart(), now);
+        if (!summary.isEmpty())
+            itemBookingSummaryRepository.save(summary);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.roll-forward-delay:1000}")
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemBookingSummary> started = itemBookingSummaryRepository
+                .findByNextStartLessThanEqualOrderByNextStart(now, PageRequest.of(0, ROLL_FORWARD_BATCH_SIZE));
+        if (started.isEmpty())
+            return;
+
+        Map<Long, ItemBookingSummary> computed = compute(started.stream()
+                .map(ItemBookingSummary::getItemId)
+                .collect(Collectors.toList()), now);
+        for (ItemBookingSummary summary : started) {
+            ItemBookingSummary current = computed.get(summary.getItemId());
+            if (current == null)
+                itemBookingSummaryRepository.delete(summary);
+            else
+                copy(current, summary);
+        }
+        log.debug("Сводки бронирований сдвинуты, предметов: {}", started.size());
+    }
+
+    private Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (ItemBookingShort last : bookingRepository.findLastBookings(itemIds, Status.APPROVED, now))
+            summaries.computeIfAbsent(last.getItemId(), id -> new ItemBookingSummary().setItemId(id))
+                    .setLastBookingId(last.getId())
+                    .setLastBookerId(last.getBookerId())
+                    .setLastStart(last.getStart());
+        for (ItemBookingShort next : bookingRepository.findNextBookings(itemIds, Status.APPROVED, now))
+            summaries.computeIfAbsent(next.getItemId(), id -> new ItemBookingSummary().setItemId(id))
+                    .setNextBookingId(next.getId())
+                    .setNextBookerId(next.getBookerId())
+                    .setNextStart(next.getStart());
+        return summaries;
+    }
+
+    private static void copy(ItemBookingSummary source, ItemBookingSummary target) {
+        if (source == null)
+            source = new ItemBookingSummary();
+        target.setLastBookingId(source.getLastBookingId())
+                .setLastBookerId(source.getLastBookerId())
+                .setLastStart(source.getLastStart())
+                .setNextBookingId(source.getNextBookingId())
+                .setNextBookerId(source.getNextBookerId())
+                .setNextStart(source.getNextStart());
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ItemBookingSummary> findForUpdateByItemId(long itemId);
+
+    /**
+     * Summaries whose next booking has started, oldest first, locked against a concurrent approval.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findByNextStartLessThanEqualOrderByNextStart(LocalDateTime now, Pageable page);
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Serializes booking writes per item instead of across the whole service. A lock is held until the current
+ * transaction completes, that is after {@link BookingIntervalIndex} has applied the committed booking, so the
+ * next writer of the same item checks overlaps against it.
+ */
+public interface ItemLockManager {
+
+    default void lock(long itemId) {
+        lockAll(List.of(itemId));
+    }
+
+    /**
+     * Locks are taken in a fixed order, so that two batches sharing items cannot deadlock.
+     */
+    void lockAll(Collection<Long> itemIds);
+
+    /**
+     * Whether the locks also exclude writers on other nodes, whose commits never reach this node's
+     * {@link BookingIntervalIndex}; overlaps are then checked against the database.
+     */
+    default boolean sharedAcrossNodes() {
+        return false;
+    }
+}
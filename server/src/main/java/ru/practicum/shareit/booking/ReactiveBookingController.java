@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static ru.practicum.shareit.util.Constants.TOTAL_COUNT_HEADER;
+import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
+
+/**
+ * Read-only counterpart of {@link BookingController} for the reactive node. Takes the same parameters and
+ * returns the same responses, running {@link BookingService} on the {@code jdbcScheduler}.
+ */
+@RestController
+@RequiredArgsConstructor
+@Validated
+@RequestMapping(path = "/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingController {
+    private final BookingService bookingService;
+    private final Scheduler jdbcScheduler;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<BookingResponse>>> findByBookerIdAndState(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                                              @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                                              @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "false") boolean withTotal) {
+        return offload(() -> {
+            ResponseEntity<List<BookingResponse>> response = cursor == null
+                    ? ResponseEntity.ok(bookingService.findByBookerIdAndState(bookerId, state, from, size))
+                    : bookingService.findByBookerIdAndState(bookerId, state, KeysetCursor.decodeWithPosition(cursor), size).toResponseEntity();
+            return withTotal ? addTotal(response, bookingService.countByBookerIdAndState(bookerId, state)) : response;
+        });
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<List<BookingResponse>>> findByItemOwnerIdAndState(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                                                 @RequestParam(defaultValue = "ALL") String state,
+                                                                                 @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                                                 @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(defaultValue = "false") boolean withTotal) {
+        return offload(() -> {
+            ResponseEntity<List<BookingResponse>> response = cursor == null
+                    ? ResponseEntity.ok(bookingService.findByItemOwnerIdAndState(ownerId, state, from, size))
+                    : bookingService.findByItemOwnerIdAndState(ownerId, state, KeysetCursor.decodeWithPosition(cursor), size).toResponseEntity();
+            return withTotal ? addTotal(response, bookingService.countByItemOwnerIdAndState(ownerId, state)) : response;
+        });
+    }
+
+    private <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+
+    private static <T> ResponseEntity<T> addTotal(ResponseEntity<T> response, long total) {
+        return ResponseEntity.ok()
+                .headers(response.getHeaders())
+                .header(TOTAL_COUNT_HEADER, String.valueOf(total))
+                .body(response.getBody());
+    }
+}
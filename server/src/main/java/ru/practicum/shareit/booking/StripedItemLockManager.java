@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process {@link ItemLockManager}: item ids are hashed onto a fixed power-of-two array of locks, so memory
+ * does not grow with the number of items and unrelated items rarely wait for each other. {@link ReentrantLock}
+ * does not pin a virtual thread while it waits. A lock not acquired within {@code shareit.booking.item-lock.timeout}
+ * rejects the call instead of holding its connection longer. The time spent waiting is timed as
+ * {@value #WAIT_METRIC}.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.item-lock", havingValue = "striped", matchIfMissing = true)
+public class StripedItemLockManager implements ItemLockManager {
+    public static final String WAIT_METRIC = "shareit.booking.item-lock.wait";
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+    private final MeterRegistry meterRegistry;
+
+    public StripedItemLockManager(@Value("${shareit.booking.item-lock.stripes:1024}") int stripes,
+                                  @Value("${shareit.booking.item-lock.timeout:2s}") Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++)
+            this.stripes[i] = new ReentrantLock();
+        this.timeoutMillis = timeout.toMillis();
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = meterRegistry.timer(WAIT_METRIC);
+    }
+
+    @Override
+    public void lockAll(Collection<Long> itemIds) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+                "Блокировка предмета берется только в транзакции.");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            for (int stripe : itemIds.stream().mapToInt(this::stripe).distinct().sorted().toArray())
+                acquire(stripes[stripe]);
+        } finally {
+            sample.stop(waitTimer);
+        }
+    }
+
+    int stripe(long itemId) {
+        return Long.hashCode(itemId) & (stripes.length - 1);
+    }
+
+    /**
+     * The unlock is registered as soon as the lock is taken: a later stripe timing out rolls the transaction
+     * back and releases the ones already held.
+     */
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS))
+                throw new RejectedExecutionException("Предмет занят параллельными бронированиями.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Ожидание блокировки предмета прервано.", e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
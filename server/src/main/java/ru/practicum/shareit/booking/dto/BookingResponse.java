@@ -25,4 +25,12 @@ public class BookingResponse {
     private Status status;
     private UserShort booker;
     private ItemShort item;
+
+    /**
+     * Constructor expression of the booking list projection, which reads only these columns.
+     */
+    public BookingResponse(long id, LocalDateTime start, LocalDateTime end, Status status, Long bookerId,
+                           Long itemId, String itemName) {
+        this(id, start, end, status, new UserShort().setId(bookerId), new ItemShort(itemId, itemName));
+    }
 }
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Accessors(chain = true)
+@Table(name = "bookings")
+@SqlResultSetMapping(name = "ItemBookingShort",
+        classes = @ConstructorResult(targetClass = ItemBookingShort.class, columns = {
+                @ColumnResult(name = "itemId", type = Long.class),
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "bookerId", type = Long.class),
+                @ColumnResult(name = "start", type = LocalDateTime.class)}))
+@NamedNativeQuery(name = "Booking.findLastBookings",
+        query = "select bo.item_id as itemId, bo.id as id, bo.booker_id as bookerId, bo.start_date as start " +
+                "from (select b.item_id, b.id, b.booker_id, b.start_date, " +
+                "row_number() over (partition by b.item_id order by b.start_date desc) as rn " +
+                "from bookings as b " +
+                "where b.item_id in (:itemIds) and b.status = :status and b.start_date < :now) as bo " +
+                "where bo.rn = 1",
+        resultSetMapping = "ItemBookingShort")
+@NamedNativeQuery(name = "Booking.findNextBookings",
+        query = "select bo.item_id as itemId, bo.id as id, bo.booker_id as bookerId, bo.start_date as start " +
+                "from (select b.item_id, b.id, b.booker_id, b.start_date, " +
+                "row_number() over (partition by b.item_id order by b.start_date asc) as rn " +
+                "from bookings as b " +
+                "where b.item_id in (:itemIds) and b.status = :status and b.start_date > :now) as bo " +
+                "where bo.rn = 1",
+        resultSetMapping = "ItemBookingShort")
+public class Booking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
+    private long id;
+
+    @Column(name = "start_date")
+    private LocalDateTime start;
+
+    @Column(name = "end_date")
+    private LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id")
+    private User booker;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    @Version
+    private Long version;
+}
\ No newline at end of file
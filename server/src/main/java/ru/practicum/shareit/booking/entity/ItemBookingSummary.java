@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Last and next APPROVED booking of an item, denormalized so that the owner's views read them by primary key.
+ * The booking references are set to null by the database when a booking is deleted with its booker; such a row
+ * and a row whose next booking has already started are stale and must be recomputed.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Accessors(chain = true)
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private long itemId;
+
+    private Long lastBookingId;
+
+    private Long lastBookerId;
+
+    private LocalDateTime lastStart;
+
+    private Long nextBookingId;
+
+    private Long nextBookerId;
+
+    private LocalDateTime nextStart;
+
+    public boolean isStale(LocalDateTime now) {
+        return nextStart != null && (!nextStart.isAfter(now) || nextBookingId == null)
+                || lastStart != null && lastBookingId == null;
+    }
+
+    /**
+     * Takes the booking as the last or the next one if it is closer to {@code now} than the current one.
+     */
+    public ItemBookingSummary include(long bookingId, long bookerId, LocalDateTime start, LocalDateTime now) {
+        if (start.isBefore(now) && (lastStart == null || start.isAfter(lastStart)))
+            return setLastBookingId(bookingId).setLastBookerId(bookerId).setLastStart(start);
+        if (start.isAfter(now) && (nextStart == null || start.isBefore(nextStart)))
+            return setNextBookingId(bookingId).setNextBookerId(bookerId).setNextStart(start);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return lastStart == null && nextStart == null;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile({"ci", "test"})
+public class FlywayConfig {
+    /**
+     * The ci/test database is a file that outlives the context, so it is wiped before migrating to give every
+     * context fresh tables and identity sequences.
+     */
+    @Bean
+    public FlywayMigrationStrategy cleanMigrationStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
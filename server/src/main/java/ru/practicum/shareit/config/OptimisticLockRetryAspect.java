@@ -0,0 +1,81 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reruns methods annotated with {@link RetryOnConflict} when a concurrent transaction has changed the same row
+ * since it was read. The aspect wraps the transaction interceptor, so every attempt is a new transaction that
+ * rereads the row; a call already running inside an outer transaction is not retried, as only the outer one
+ * can be rerun. Conflicts are counted as {@value #CONFLICTS_METRIC}, tagged by service, method and outcome
+ * ({@code retried} or {@code exhausted}), and the attempts a call took as {@value #ATTEMPTS_METRIC}.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticLockRetryAspect {
+    public static final String CONFLICTS_METRIC = "shareit.optimistic.conflicts";
+    public static final String ATTEMPTS_METRIC = "shareit.optimistic.attempts";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetryAspect(MeterRegistry meterRegistry,
+                                     @Value("${shareit.optimistic.max-attempts:3}") int maxAttempts,
+                                     @Value("${shareit.optimistic.backoff:10ms}") Duration backoff) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    @Around("@annotation(ru.practicum.shareit.config.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return joinPoint.proceed();
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String service = signature.getDeclaringType().getSimpleName();
+        String method = signature.getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                meterRegistry.summary(ATTEMPTS_METRIC, "service", service, "method", method).record(attempt);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                boolean exhausted = attempt >= maxAttempts;
+                meterRegistry.counter(CONFLICTS_METRIC, "service", service, "method", method,
+                        "outcome", exhausted ? "exhausted" : "retried").increment();
+                if (exhausted) {
+                    meterRegistry.summary(ATTEMPTS_METRIC, "service", service, "method", method).record(attempt);
+                    throw e;
+                }
+                log.debug("Конфликт версий в {}.{}, попытка {} из {}", service, method, attempt, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Linear backoff with full jitter, so that the losers of one race do not collide again on the next attempt.
+     */
+    private void pause(int attempt) throws InterruptedException {
+        long bound = backoff.toMillis() * attempt;
+        if (bound > 0)
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive read node ({@code reactive} profile): WebFlux on Netty serves the read endpoints from a few event-loop
+ * threads. The services stay on JPA, so their calls are moved off the event loop to {@code jdbcScheduler},
+ * which has one thread per pooled connection and a bounded queue. A request that does not fit the queue is
+ * rejected with 503 instead of piling up behind the pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+    /**
+     * Boot would run WebFlux on Tomcat, which is on the classpath for the servlet nodes.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                   @Value("${shareit.reactive.jdbc-queue-size:1000}") int queueSize) {
+        log.info("Блокирующие вызовы сервисов выполняются в {} потоках, очередь {}", poolSize, queueSize);
+        return Schedulers.newBoundedElastic(poolSize, queueSize, "jdbc");
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose transaction is rerun by {@link OptimisticLockRetryAspect} when it loses
+ * an optimistic lock race. The method must be safe to rerun: it rereads the entities it changes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * The second-level cache regions in {@code ehcache.xml} are local to the node and are invalidated only by its own
+ * writes. A node sharing the database with other nodes, as with {@code shareit.booking.item-lock=advisory} or
+ * the {@code reactive} read node, would serve items and users changed elsewhere for the whole TTL, so there
+ * the cache is turned off and entities are read from the database.
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(Environment environment) {
+        return properties -> {
+            if (sharesDatabase(environment)) {
+                log.info("Кеш второго уровня отключен: база данных общая для нескольких узлов");
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            }
+        };
+    }
+
+    static boolean sharesDatabase(Environment environment) {
+        return "advisory".equals(environment.getProperty("shareit.booking.item-lock"))
+                || environment.acceptsProfiles(Profiles.of("reactive"));
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingState;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Times every public method of the application services as {@value #METRIC_NAME}, tagged by service, method,
+ * booking state (for methods taking a {@code state} argument) and the thrown exception.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String METRIC_NAME = "shareit.service";
+    static final String NONE = "none";
+    static final String UNKNOWN = "UNKNOWN";
+    private static final Set<String> SUPPORTED_STATES = Arrays.stream(BookingState.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit.booking.BookingService.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.ItemService.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.RequestService.*(..))"
+            + " || execution(public * ru.practicum.shareit.user.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Tags tags = Tags.of(
+                    Tag.of("service", signature.getDeclaringType().getSimpleName()),
+                    Tag.of("method", signature.getName()),
+                    Tag.of("state", state(signature, joinPoint.getArgs())),
+                    Tag.of("exception", exception));
+            sample.stop(meterRegistry.timer(METRIC_NAME, tags));
+        }
+    }
+
+    /**
+     * Anything but a supported state is collapsed into one tag value, whatever the call threw, so that request
+     * input cannot grow the tag cardinality.
+     */
+    private static String state(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        for (int i = 0; names != null && i < names.length; i++) {
+            if ("state".equals(names[i]) && args[i] instanceof String) {
+                String state = ((String) args[i]).toUpperCase();
+                return SUPPORTED_STATES.contains(state) ? state : UNKNOWN;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event, recorded when a virtual thread blocks inside a
+ * {@code synchronized} block or a native frame and so holds on to its carrier thread. Every pinning longer than
+ * the threshold is counted as {@value #METRIC_NAME} and logged with the top of its stack.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    public static final String METRIC_NAME = "shareit.virtual.pinned";
+    static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 10;
+
+    private final Counter pinned;
+    private final AutoCloseable recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        pinned = meterRegistry.counter(METRIC_NAME);
+        try {
+            // RecordingStream is Java 14+, the event itself is Java 21+
+            Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+            Object stream = streamType.getConstructor().newInstance();
+            Object settings = streamType.getMethod("enable", String.class).invoke(stream, EVENT_NAME);
+            settings = settingsType.getMethod("withStackTrace").invoke(settings);
+            settingsType.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+            Consumer<RecordedEvent> onPinned = this::onPinned;
+            streamType.getMethod("onEvent", String.class, Consumer.class).invoke(stream, EVENT_NAME, onPinned);
+            streamType.getMethod("startAsync").invoke(stream);
+            recordingStream = (AutoCloseable) stream;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось подписаться на событие " + EVENT_NAME, e);
+        }
+        log.info("Отслеживание закрепления виртуальных потоков дольше {} мс включено", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        log.warn("Виртуальный поток {} удерживал несущий поток {} мс:\n{}", event.getThread().getJavaName(),
+                event.getDuration().toMillis(), frames(event.getStackTrace()));
+    }
+
+    private static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null)
+            return "";
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::frame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() throws Exception {
+        recordingStream.close();
+    }
+}
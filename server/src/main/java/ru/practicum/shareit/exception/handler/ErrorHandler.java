@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
@@ -9,9 +10,11 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 import ru.practicum.shareit.exception.*;
 
 import javax.validation.ConstraintViolationException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestControllerAdvice("ru.practicum.shareit")
@@ -45,6 +48,13 @@ public class ErrorHandler {
         return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS", e.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidCursorException(InvalidCursorException e) {
+        log.warn("{}", e.getMessage());
+        return new ErrorResponse("Некорректный курсор.", e.getMessage());
+    }
+
     @ExceptionHandler(BookingNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleBookingNotFoundException(BookingNotFoundException e) {
@@ -59,6 +69,20 @@ public class ErrorHandler {
         return new ErrorResponse("Начало должно быть раньше окончания.", e.getMessage());
     }
 
+    @ExceptionHandler(BookingOverlapException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(BookingOverlapException e) {
+        log.warn("{}", e.getMessage());
+        return new ErrorResponse("Время бронирования занято.", e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        log.warn("{}", e.getMessage());
+        return new ErrorResponse("Данные изменены параллельным запросом, повторите запрос.", e.getMessage());
+    }
+
     @ExceptionHandler(ItemNotAvailableException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleItemNotAvailableException(ItemNotAvailableException e) {
@@ -113,6 +137,7 @@ public class ErrorHandler {
             MissingRequestHeaderException.class,
             MethodArgumentTypeMismatchException.class,
             MissingServletRequestParameterException.class,
+            ServerWebInputException.class,
             IllegalStateException.class,
             ConstraintViolationException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -121,6 +146,13 @@ public class ErrorHandler {
         return new ErrorResponse("Ошибка валидации.", e.getMessage());
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleRejectedExecutionException(RejectedExecutionException e) {
+        log.warn("{}", e.getMessage());
+        return new ErrorResponse("Сервис перегружен, повторите запрос позже.", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(Exception e) {
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.imports;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits one CSV line by commas. Quoted values may contain commas and doubled quotes, but not line breaks,
+ * so that the file can be read line by line.
+ */
+@UtilityClass
+public class CsvLineParser {
+    public static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"')
+                    value.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    value.append(line.charAt(++i));
+                else
+                    quoted = false;
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted)
+            throw new IllegalArgumentException("Не закрыта кавычка в строке CSV.");
+        values.add(value.toString().trim());
+        return values;
+    }
+}
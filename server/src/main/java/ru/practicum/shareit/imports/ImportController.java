@@ -0,0 +1,49 @@
+package ru.practicum.shareit.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.util.LineFormat;
+
+import java.io.InputStream;
+
+import static ru.practicum.shareit.util.LineFormat.CSV_VALUE;
+import static ru.practicum.shareit.util.LineFormat.NDJSON_VALUE;
+
+/**
+ * Bulk import of whole shops. The request body is read as a stream, items carry {@code ownerId}
+ * and bookings {@code bookerId} next to the usual fields.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@RequestMapping(path = "/import")
+public class ImportController {
+    private final ImportService importService;
+
+    @PostMapping(path = "/users", consumes = {NDJSON_VALUE, CSV_VALUE})
+    public ImportReport importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return importRows(ImportEntity.USERS, contentType, body);
+    }
+
+    @PostMapping(path = "/items", consumes = {NDJSON_VALUE, CSV_VALUE})
+    public ImportReport importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return importRows(ImportEntity.ITEMS, contentType, body);
+    }
+
+    @PostMapping(path = "/bookings", consumes = {NDJSON_VALUE, CSV_VALUE})
+    public ImportReport importBookings(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                       InputStream body) {
+        return importRows(ImportEntity.BOOKINGS, contentType, body);
+    }
+
+    private ImportReport importRows(ImportEntity entity, String contentType, InputStream body) {
+        return importService.importRows(entity, LineFormat.of(MediaType.parseMediaType(contentType)), body);
+    }
+}
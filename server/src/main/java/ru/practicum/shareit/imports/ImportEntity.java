@@ -0,0 +1,22 @@
+package ru.practicum.shareit.imports;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+
+/**
+ * What an import file holds. Rows are read into the same DTOs as the REST API; items and bookings additionally
+ * name the user they are created for in {@link #getUserIdField()}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImportEntity {
+    USERS(CreateUserRequest.class, null),
+    ITEMS(CreateItemRequest.class, "ownerId"),
+    BOOKINGS(CreateBookingRequest.class, "bookerId");
+
+    private final Class<?> rowType;
+    private final String userIdField;
+}
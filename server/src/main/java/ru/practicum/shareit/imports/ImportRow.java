@@ -0,0 +1,13 @@
+package ru.practicum.shareit.imports;
+
+import lombok.Value;
+
+/**
+ * A parsed and validated row waiting in the current chunk.
+ */
+@Value
+class ImportRow {
+    long line;
+    Long userId;
+    Object request;
+}
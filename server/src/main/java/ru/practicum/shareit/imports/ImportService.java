@@ -0,0 +1,15 @@
+package ru.practicum.shareit.imports;
+
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.util.LineFormat;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    /**
+     * Reads the input line by line and saves it in chunks, each chunk in its own transactions, so neither the
+     * file nor the whole result is held in memory. Rows failing parsing, validation or business rules are reported
+     * and skipped, as are the rows of a transaction failing for any other reason.
+     */
+    ImportReport importRows(ImportEntity entity, LineFormat format, InputStream input);
+}
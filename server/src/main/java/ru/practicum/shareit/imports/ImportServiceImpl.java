@@ -0,0 +1,201 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.CreateItemResult;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.CreateUserResult;
+import ru.practicum.shareit.util.LineFormat;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Saves every chunk through the batch methods of the services, so imported rows pass the same business rules,
+ * caches and indexes as the REST API. Items and bookings of a chunk are saved per owner or booker.
+ */
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ImportServiceImpl(UserService userService, ItemService itemService, BookingService bookingService,
+                             ObjectMapper objectMapper, Validator validator,
+                             @Value("${shareit.import.chunk-size:500}") int chunkSize) {
+        this.userService = userService;
+        this.itemService = itemService;
+        this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportReport importRows(ImportEntity entity, LineFormat format, InputStream input) {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport(entity);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long line = 0;
+            List<String> header = null;
+            for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+                line++;
+                if (text.isBlank())
+                    continue;
+                if (format == LineFormat.CSV && header == null) {
+                    header = CsvLineParser.split(text);
+                    continue;
+                }
+                report.addRow();
+                try {
+                    chunk.add(toRow(entity, line, format == LineFormat.CSV ? fromCsv(header, text)
+                            : objectMapper.readTree(text)));
+                } catch (JsonProcessingException e) {
+                    report.addError(line, e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    report.addError(line, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    write(entity, chunk, report);
+                    chunk.clear();
+                }
+            }
+            write(entity, chunk, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        report.finish(System.nanoTime() - started);
+        log.info("Импорт {}: строк {}, сохранено {}, отклонено {}, {} строк/с", entity, report.getRows(),
+                report.getImported(), report.getFailed(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private JsonNode fromCsv(List<String> header, String text) {
+        List<String> values = CsvLineParser.split(text);
+        if (values.size() != header.size())
+            throw new IllegalArgumentException(String.format("Ожидалось полей: %d, получено: %d.",
+                    header.size(), values.size()));
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++)
+            if (!values.get(i).isEmpty())
+                node.put(header.get(i), values.get(i));
+        return node;
+    }
+
+    private ImportRow toRow(ImportEntity entity, long line, JsonNode node) throws JsonProcessingException {
+        if (!node.isObject())
+            throw new IllegalArgumentException("Строка должна быть JSON-объектом.");
+        Long userId = null;
+        if (entity.getUserIdField() != null)
+            userId = userId(entity.getUserIdField(), ((ObjectNode) node).remove(entity.getUserIdField()));
+
+        Object request = objectMapper.treeToValue(node, entity.getRowType());
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty())
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath().toString().isEmpty() ? violation.getMessage()
+                            : violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        return new ImportRow(line, userId, request);
+    }
+
+    private static long userId(String field, JsonNode value) {
+        if (value == null || value.isNull() || value.asText().isBlank())
+            throw new IllegalArgumentException(String.format("Не указан %s.", field));
+        try {
+            return value.isIntegralNumber() ? value.longValue() : Long.parseLong(value.asText().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Некорректный %s: %s.", field, value.asText()));
+        }
+    }
+
+    private void write(ImportEntity entity, List<ImportRow> chunk, ImportReport report) {
+        if (chunk.isEmpty())
+            return;
+        if (entity == ImportEntity.USERS) {
+            try {
+                report(chunk, userService.saveAll(requests(chunk, CreateUserRequest.class)).stream()
+                        .map(CreateUserResult::getError)
+                        .collect(Collectors.toList()), report);
+            } catch (RuntimeException e) {
+                reject(chunk, e, report);
+            }
+            return;
+        }
+
+        Map<Long, List<ImportRow>> rowsByUser = chunk.stream()
+                .collect(Collectors.groupingBy(ImportRow::getUserId, LinkedHashMap::new, Collectors.toList()));
+        rowsByUser.forEach((userId, rows) -> {
+            try {
+                List<String> errors = entity == ImportEntity.ITEMS
+                        ? itemService.saveAll(userId, requests(rows, CreateItemRequest.class)).stream()
+                        .map(CreateItemResult::getError)
+                        .collect(Collectors.toList())
+                        : bookingService.saveAll(userId, requests(rows, CreateBookingRequest.class)).stream()
+                        .map(CreateBookingResult::getError)
+                        .collect(Collectors.toList());
+                report(rows, errors, report);
+            } catch (UserNotFoundException | BookingOverlapException e) {
+                rows.forEach(row -> report.addError(row.getLine(), e.getMessage()));
+            } catch (RuntimeException e) {
+                reject(rows, e, report);
+            }
+        });
+    }
+
+    /**
+     * The transaction of the rows has been rolled back, so all of them are reported; the import goes on with
+     * the next rows, as earlier chunks are already committed.
+     */
+    private static void reject(List<ImportRow> rows, RuntimeException e, ImportReport report) {
+        log.warn("Не удалось сохранить строки {}-{}", rows.get(0).getLine(), rows.get(rows.size() - 1).getLine(), e);
+        String message = String.format("Не удалось сохранить строку: %s.", e.getClass().getSimpleName());
+        rows.forEach(row -> report.addError(row.getLine(), message));
+    }
+
+    private static <T> List<T> requests(List<ImportRow> rows, Class<T> type) {
+        return rows.stream().map(row -> type.cast(row.getRequest())).collect(Collectors.toList());
+    }
+
+    private static void report(List<ImportRow> rows, List<String> errors, ImportReport report) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors.get(i) == null)
+                report.addImported();
+            else
+                report.addError(rows.get(i).getLine(), errors.get(i));
+        }
+    }
+}
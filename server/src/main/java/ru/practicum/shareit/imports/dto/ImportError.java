@@ -0,0 +1,11 @@
+package ru.practicum.shareit.imports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportError {
+    private long line;
+    private String message;
+}
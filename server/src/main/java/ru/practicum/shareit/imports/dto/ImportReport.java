@@ -0,0 +1,50 @@
+package ru.practicum.shareit.imports.dto;
+
+import lombok.Getter;
+import ru.practicum.shareit.imports.ImportEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Totals and throughput of one import. Rejected rows are listed by line, but only the first
+ * {@value #MAX_REPORTED_ERRORS} reported, while {@code failed} counts all of them.
+ */
+@Getter
+public class ImportReport {
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final ImportEntity entity;
+    private long rows;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private final List<ImportError> errors = new ArrayList<>();
+
+    public ImportReport(ImportEntity entity) {
+        this.entity = entity;
+    }
+
+    public void addRow() {
+        rows++;
+    }
+
+    public void addImported() {
+        imported++;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS)
+            errors.add(new ImportError(line, message));
+    }
+
+    public ImportReport finish(long elapsedNanos) {
+        errors.sort(Comparator.comparingLong(ImportError::getLine));
+        elapsedMillis = elapsedNanos / 1_000_000;
+        rowsPerSecond = elapsedNanos == 0 ? rows : rows * 1_000_000_000 / elapsedNanos;
+        return this;
+    }
+}
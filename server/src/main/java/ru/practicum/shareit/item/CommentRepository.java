@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.entity.Comment;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query("select new ru.practicum.shareit.item.dto.CommentResponse(c.id, c.text, c.author.name, c.created) " +
+            "from Comment as c " +
+            "where c.item.id = :itemId " +
+            "order by c.created asc")
+    List<CommentResponse> findByItem_IdOrderByCreatedAsc(@Param("itemId") long itemId);
+
+    @Query("select c " +
+            "from Comment as c " +
+            "join fetch c.author " +
+            "where c.item.id in :itemIds " +
+            "order by c.created asc")
+    List<Comment> findByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+}
+
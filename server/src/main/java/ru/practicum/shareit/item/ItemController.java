@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
@@ -13,6 +16,7 @@ import java.util.List;
 import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Validated
 @RequestMapping("/items")
@@ -39,10 +43,13 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<GetItemResponse> findByOwnerId(@RequestHeader(USER_ID_HEADER) long ownerId,
-                                               @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) Long from,
-                                               @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
-        return itemService.findByOwnerId(ownerId, from, size);
+    public ResponseEntity<List<GetItemResponse>> findByOwnerId(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                               @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) Long from,
+                                                               @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                               @RequestParam(required = false) String cursor) {
+        if (cursor == null)
+            return ResponseEntity.ok(itemService.findByOwnerId(ownerId, from, size));
+        return itemService.findByOwnerId(ownerId, KeysetCursor.decode(cursor), size).toResponseEntity();
     }
 
     @GetMapping("/search")
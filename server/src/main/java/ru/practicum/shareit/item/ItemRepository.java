@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.entity.Item;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    /**
+     * Reads the rows even for items held in the second-level cache, which writes of other nodes do not reach.
+     */
+    @QueryHints(@QueryHint(name = AvailableSettings.JPA_SHARED_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    @Query(value = "select i " +
+            "from Item as i " +
+            "where i.id in :ids")
+    List<Item> findAllByIdInBypassingCache(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new ru.practicum.shareit.item.dto.ItemResponse(i.id, i.name, i.description, " +
+            "i.available, i.request.id) " +
+            "from Item as i " +
+            "where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', :text, '%')) " +
+            "or lower(i.description) like lower(concat('%', :text, '%')))")
+    List<ItemResponse> searchAvailableItemsByText(String text, Pageable page);
+
+    @Query(value = "select i.* " +
+            "from items as i " +
+            "where i.is_available = true " +
+            "and to_tsvector('simple', i.name || ' ' || i.description) @@ to_tsquery('simple', :query) " +
+            "order by i.id",
+            nativeQuery = true)
+    List<Item> searchAvailableItemsByTsQuery(@Param("query") String query, Pageable page);
+
+    @Query(value = "select new ru.practicum.shareit.item.dto.ItemResponse(i.id, i.name, i.description, " +
+            "i.available, i.request.id) " +
+            "from Item as i " +
+            "where i.id in :ids")
+    List<ItemResponse> findItemResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new ru.practicum.shareit.item.dto.ItemResponse(i.id, i.name, i.description, " +
+            "i.available, i.request.id) " +
+            "from Item as i " +
+            "where i.request.id in :requestIds " +
+            "order by i.id")
+    List<ItemResponse> findItemResponsesByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query(value = "select new ru.practicum.shareit.item.dto.ItemResponse(i.id, i.name, i.description, " +
+            "i.available, i.request.id) " +
+            "from Item as i")
+    Stream<ItemResponse> findAllItemResponses();
+
+    @Query(value = "select i " +
+            "from Item as i " +
+            "where i.owner.id = :ownerId " +
+            "order by i.id")
+    List<Item> findByOwnerId(@Param("ownerId") long ownerId, Pageable page);
+
+    @Query(value = "select i " +
+            "from Item as i " +
+            "where i.owner.id = :ownerId and i.id > :afterId " +
+            "order by i.id")
+    List<Item> findByOwnerIdAndIdAfter(@Param("ownerId") long ownerId, @Param("afterId") long afterId,
+                                       Pageable page);
+}
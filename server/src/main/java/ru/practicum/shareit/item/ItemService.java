@@ -2,21 +2,35 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
 
     ItemResponse saveItem(long ownerId, CreateItemRequest createItemRequest);
 
+    List<CreateItemResult> saveAll(long ownerId, List<CreateItemRequest> createItemRequests);
+
     ItemResponse update(long ownerId, long itemId, UpdateItemRequest updateItemRequest);
 
     Item findById(long itemId);
 
+    /**
+     * Reads the item from the database, not from the second-level cache, for checks made under an item lock.
+     */
+    Item findByIdBypassingCache(long itemId);
+
+    List<Item> findAllByIdBypassingCache(Collection<Long> itemIds);
+
     GetItemResponse findDtoById(long itemId, long ownerId);
 
     List<GetItemResponse> findByOwnerId(long ownerId, Long from, int size);
 
+    KeysetPage<GetItemResponse> findByOwnerId(long ownerId, KeysetCursor cursor, int size);
+
     List<ItemResponse> searchAvailableItemsByText(String text, Long from, int size);
 
     CommentResponse saveComment(Long authorId, Long itemId, CreateCommentRequest createCommentRequest);
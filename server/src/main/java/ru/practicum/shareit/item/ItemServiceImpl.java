@@ -0,0 +1,216 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaries;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.config.RetryOnConflict;
+import ru.practicum.shareit.exception.IncompatibleUserIdException;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotBookedBeforeException;
+import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.entity.Comment;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.entity.Request;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRED)
+public class ItemServiceImpl implements ItemService {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final CommentRepository commentRepository;
+    private final RequestService requestService;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemBookingSummaries itemBookingSummaries;
+
+    @Override
+    public ItemResponse saveItem(long ownerId, CreateItemRequest createItemRequest) {
+
+        Item item = ItemMapper.toItem(userService.findById(ownerId), createItemRequest);
+
+        Long requestId = createItemRequest.getRequestId();
+        if (requestId != null) {
+            item.setRequest(requestService.findById(requestId));
+        }
+
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toItemResponse(savedItem);
+    }
+
+    /**
+     * Loads the owner once and the requests with one {@code IN} query, then inserts the items in one JDBC batch.
+     * Elements referring to an unknown request are reported and skipped, the rest are saved.
+     */
+    @Override
+    public List<CreateItemResult> saveAll(long ownerId, List<CreateItemRequest> createItemRequests) {
+        User owner = userService.findById(ownerId);
+        Map<Long, Request> requests = requestService.findAllById(createItemRequests.stream()
+                        .map(CreateItemRequest::getRequestId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+
+        List<CreateItemResult> results = new ArrayList<>(createItemRequests.size());
+        Map<Integer, Item> items = new LinkedHashMap<>();
+        for (int i = 0; i < createItemRequests.size(); i++) {
+            CreateItemRequest createItemRequest = createItemRequests.get(i);
+            Long requestId = createItemRequest.getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                results.add(new CreateItemResult(i, null, String.format("Запрос с id %d не найден.", requestId)));
+                continue;
+            }
+            items.put(i, ItemMapper.toItem(owner, createItemRequest).setRequest(requests.get(requestId)));
+            results.add(new CreateItemResult(i, null, null));
+        }
+
+        itemRepository.saveAll(items.values());
+        itemRepository.flush();
+        items.forEach((index, item) -> {
+            itemSearchEngine.index(item);
+            results.get(index).setItem(ItemMapper.toItemResponse(item));
+        });
+        return results;
+    }
+
+    @Override
+    @RetryOnConflict
+    public ItemResponse update(long ownerId, long itemId, UpdateItemRequest updateItemRequest) {
+
+        Item item = ItemMapper.toItem(userService.findById(ownerId), updateItemRequest).setId(itemId);
+        Item oldItem = findById(itemId);
+
+        if (!Objects.equals(ownerId, oldItem.getOwner().getId()))
+            throw new IncompatibleUserIdException("id пользователей не совпадают.");
+
+        Item updatedItem = itemRepository.save(oldItem.setName(item.getName() == null || item.getName().isBlank() ?
+                        oldItem.getName() : item.getName())
+                .setDescription(item.getDescription() == null || item.getDescription().isBlank() ?
+                        oldItem.getDescription() : item.getDescription())
+                .setAvailable(item.getAvailable() == null ? oldItem.getAvailable() : item.getAvailable()));
+        itemRepository.flush();
+        itemSearchEngine.index(updatedItem);
+        return ItemMapper.toItemResponse(updatedItem);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Item findById(long itemId) {
+        return itemRepository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Предмет с id %s не найден.", itemId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Item findByIdBypassingCache(long itemId) {
+        return itemRepository.findAllByIdInBypassingCache(List.of(itemId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Предмет с id %s не найден.", itemId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> findAllByIdBypassingCache(Collection<Long> itemIds) {
+        return itemRepository.findAllByIdInBypassingCache(itemIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GetItemResponse findDtoById(long itemId, long ownerId) {
+        Item item = findById(itemId);
+
+        List<CommentResponse> comments = commentRepository.findByItem_IdOrderByCreatedAsc(itemId);
+        if (!Objects.equals(item.getOwner().getId(), ownerId))
+            return ItemMapper.toGetItemResponse(item, null, null, comments);
+
+        ItemBookingSummary summary = itemBookingSummaries.findByItemIds(List.of(itemId), LocalDateTime.now())
+                .get(itemId);
+        return ItemMapper.toGetItemResponse(item, BookingMapper.toLastBookingShort(summary),
+                BookingMapper.toNextBookingShort(summary), comments);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GetItemResponse> findByOwnerId(long ownerId, Long from, int size) {
+        Pageable page = new OffsetBasedPageRequest(from, size);
+
+        return toGetItemResponses(itemRepository.findByOwnerId(ownerId, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<GetItemResponse> findByOwnerId(long ownerId, KeysetCursor cursor, int size) {
+        List<Item> items = itemRepository.findByOwnerIdAndIdAfter(ownerId, cursor == null ? 0 : cursor.getId(),
+                new OffsetBasedPageRequest(0, size + 1));
+        KeysetPage<Item> page = KeysetPage.of(items, size, item -> KeysetCursor.of(item.getId()));
+
+        return new KeysetPage<>(toGetItemResponses(page.getContent()), page.getNextCursor());
+    }
+
+    private List<GetItemResponse> toGetItemResponses(List<Item> items) {
+        if (items.isEmpty())
+            return Collections.emptyList();
+
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaries.findByItemIds(itemIds, LocalDateTime.now());
+        Map<Long, List<CommentResponse>> comments = commentRepository.findByItemIdIn(itemIds)
+                .stream().collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentResponse, Collectors.toList())));
+
+        return items.stream()
+                .map(item -> ItemMapper.toGetItemResponse(item,
+                        BookingMapper.toLastBookingShort(summaries.get(item.getId())),
+                        BookingMapper.toNextBookingShort(summaries.get(item.getId())),
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponse> searchAvailableItemsByText(String text, Long from, int size) {
+        Pageable page = new OffsetBasedPageRequest(from, size);
+        if (text.isBlank())
+            return Collections.emptyList();
+        return itemSearchEngine.search(text, page);
+    }
+
+    @Override
+    public CommentResponse saveComment(Long authorId, Long itemId, CreateCommentRequest createCommentRequest) {
+        if (bookingRepository.findFirstByBooker_IdAndItem_IdAndStatusAndEndIsBefore(authorId, itemId, Status.APPROVED,
+                LocalDateTime.now()) == null)
+            throw new UserNotBookedBeforeException("Пользователь не может оставить отзыв, " +
+                    "поскольку не пользовался вещью в прошлом.");
+        return CommentMapper.toCommentResponse(commentRepository.save(new Comment()
+                .setText(createCommentRequest.getText())
+                .setItem(findById(itemId))
+                .setAuthor(userService.findById(authorId))));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import ru.practicum.shareit.item.dto.GetItemResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
+
+/**
+ * Read-only counterpart of {@link ItemController} for the reactive node, running {@link ItemService}
+ * on the {@code jdbcScheduler}.
+ */
+@RestController
+@RequiredArgsConstructor
+@Validated
+@RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController {
+    private final ItemService itemService;
+    private final Scheduler jdbcScheduler;
+
+    @GetMapping("/{itemId}")
+    public Mono<GetItemResponse> findById(@PathVariable long itemId,
+                                          @RequestHeader(USER_ID_HEADER) Long ownerId) {
+        return Mono.fromCallable(() -> itemService.findDtoById(itemId, ownerId))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @GetMapping("/search")
+    public Flux<ItemResponse> searchAvailableItemsByText(@RequestParam String text,
+                                                         @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) Long from,
+                                                         @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+        return Mono.fromCallable(() -> itemService.searchAvailableItemsByText(text, from, size))
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(items -> items);
+    }
+}
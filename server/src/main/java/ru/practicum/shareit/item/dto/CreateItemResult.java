@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one element of a batch item creation: either the created item or the reason it was rejected.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreateItemResult {
+    private int index;
+    private ItemResponse item;
+    private String error;
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.entity;
 
 import lombok.*;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.request.entity.Request;
 import ru.practicum.shareit.user.entity.User;
@@ -16,9 +18,12 @@ import java.util.List;
 @EqualsAndHashCode(of = {"id"})
 @Table(name = "items")
 @Accessors(chain = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -34,8 +39,8 @@ public class Item {
     @ToString.Exclude
     private List<Booking> bookings;
 
-    @OneToMany(fetch = FetchType.LAZY)
-    @JoinColumn(name = "item_id", insertable = false, updatable = false)
+    @OneToMany(mappedBy = "item", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items.comments")
     @ToString.Exclude
     private List<Comment> comments;
 
@@ -46,4 +51,7 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private Request request;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
-import org.springframework.data.projection.ProjectionFactory;
-import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.entity.Comment;
 
@@ -10,8 +8,10 @@ import ru.practicum.shareit.item.entity.Comment;
 public class CommentMapper {
 
     public static CommentResponse toCommentResponse(Comment comment) {
-        ProjectionFactory factory = new SpelAwareProxyProjectionFactory();
-        return factory.createProjection(CommentResponse.class, comment);
+        return new CommentResponse(comment.getId(),
+                comment.getText(),
+                comment.getAuthor().getName(),
+                comment.getCreated());
     }
 
 }
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram index with the same matching rules as the LIKE query: case-insensitive substring
+ * of the name or of the description. The index only narrows down the candidates, the page itself is
+ * loaded from the database by primary key, so items removed elsewhere (e.g. by a cascade delete of their owner)
+ * never show up in the results. Such stale ids are dropped from the index and the page is refilled from it, so
+ * pages stay full and offsets count only live matches. Saved items are indexed only after their transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try (Stream<ItemResponse> items = itemRepository.findAllItemResponses()) {
+            items.forEach(item -> put(item.getId(), item.getName(), item.getDescription(), item.getAvailable()));
+        }
+        log.info("Индекс поиска предметов построен, документов: {}", size());
+    }
+
+    @Override
+    public void index(Item item) {
+        Long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        Boolean available = item.getAvailable();
+        afterCommit(() -> put(id, name, description, available));
+    }
+
+    @Override
+    public List<ItemResponse> search(String text, Pageable page) {
+        String query = TextTokenizer.fold(text);
+        Map<Long, ItemResponse> loaded = new HashMap<>();
+        while (true) {
+            List<Long> ids = findIds(text, page);
+            List<Long> unseen = ids.stream()
+                    .filter(id -> !loaded.containsKey(id))
+                    .collect(Collectors.toList());
+            if (unseen.isEmpty())
+                return ids.stream().map(loaded::get).collect(Collectors.toList());
+
+            Map<Long, ItemResponse> found = itemRepository.findItemResponsesByIdIn(unseen).stream()
+                    .filter(item -> Boolean.TRUE.equals(item.getAvailable())
+                            && new Document(item.getName(), item.getDescription(), true).matches(query))
+                    .collect(Collectors.toMap(ItemResponse::getId, Function.identity()));
+            for (Long id : unseen) {
+                ItemResponse item = found.get(id);
+                if (item != null)
+                    loaded.put(id, item);
+                else
+                    remove(id);
+            }
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Long> findIds(String text, Pageable page) {
+        String query = TextTokenizer.fold(text);
+        Set<String> grams = TextTokenizer.trigrams(text);
+
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = documents.keySet();
+            for (String gram : grams) {
+                Set<Long> posting = postings.getOrDefault(gram, Collections.emptySet());
+                if (posting.size() < candidates.size())
+                    candidates = posting;
+            }
+            return candidates.stream()
+                    .filter(id -> documents.get(id).matches(query))
+                    .sorted()
+                    .skip(page.getOffset())
+                    .limit(page.getPageSize())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long id, String name, String description, Boolean available) {
+        Document document = new Document(name, description, Boolean.TRUE.equals(available));
+
+        lock.writeLock().lock();
+        try {
+            Document old = documents.put(id, document);
+            if (old != null)
+                unlink(id, old);
+            for (String gram : document.grams) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Document old = documents.remove(id);
+            if (old != null)
+                unlink(id, old);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void unlink(Long id, Document document) {
+        for (String gram : document.grams) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null && posting.remove(id) && posting.isEmpty())
+                postings.remove(gram);
+        }
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Set<String> grams;
+
+        private Document(String name, String description, boolean available) {
+            this.name = name == null ? "" : TextTokenizer.fold(name);
+            this.description = description == null ? "" : TextTokenizer.fold(description);
+            this.available = available;
+            this.grams = new HashSet<>(TextTokenizer.trigrams(this.name));
+            this.grams.addAll(TextTokenizer.trigrams(this.description));
+        }
+
+        private boolean matches(String foldedQuery) {
+            return available && (name.contains(foldedQuery) || description.contains(foldedQuery));
+        }
+    }
+}
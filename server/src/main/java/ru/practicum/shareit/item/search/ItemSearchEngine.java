@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.List;
+
+/**
+ * Backend for {@code GET /items/search}. The implementation is selected by the
+ * {@code shareit.item.search.engine} property: {@code like} (default), {@code memory} or {@code postgres}.
+ */
+public interface ItemSearchEngine {
+
+    List<ItemResponse> search(String text, Pageable page);
+
+    default void index(Item item) {
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the {@code items_search_idx} GIN index. Every word of the query is matched
+ * as a word prefix, so "дре уда" finds "Дрель ударная", but a fragment from the middle of a word does not match.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemResponse> search(String text, Pageable page) {
+        String query = toPrefixTsQuery(text);
+        if (query.isEmpty())
+            return Collections.emptyList();
+
+        return itemRepository.searchAvailableItemsByTsQuery(query, page)
+                .stream().map(ItemMapper::toItemResponse).collect(Collectors.toList());
+    }
+
+    static String toPrefixTsQuery(String text) {
+        return TextTokenizer.tokenize(text).stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
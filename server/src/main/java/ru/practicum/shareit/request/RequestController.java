@@ -1,11 +1,14 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.CreateRequestRequest;
 import ru.practicum.shareit.request.dto.CreateRequestResponse;
 import ru.practicum.shareit.request.dto.GetRequestResponse;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
@@ -16,6 +19,7 @@ import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
 
 @Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public class RequestController {
@@ -28,15 +32,20 @@ public class RequestController {
     }
 
     @GetMapping
-    public List<GetRequestResponse> findByRequestorId(@RequestHeader(USER_ID_HEADER) Long requestorId) {
-        return requestService.findByRequestorId(requestorId);
+    public List<GetRequestResponse> findByRequestorId(@RequestHeader(USER_ID_HEADER) Long requestorId,
+                                                      @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+        return requestService.findByRequestorId(requestorId, from, size);
     }
 
     @GetMapping("/all")
-    public List<GetRequestResponse> findRequestsForAnotherRequestors(@RequestHeader(USER_ID_HEADER) Long requestorId,
-                                                                     @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
-                                                                     @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
-        return requestService.findRequestsForAnotherRequestors(requestorId, from, size);
+    public ResponseEntity<List<GetRequestResponse>> findRequestsForAnotherRequestors(@RequestHeader(USER_ID_HEADER) Long requestorId,
+                                                                                     @RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                                                     @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                                                     @RequestParam(required = false) String cursor) {
+        if (cursor == null)
+            return ResponseEntity.ok(requestService.findRequestsForAnotherRequestors(requestorId, from, size));
+        return requestService.findRequestsForAnotherRequestors(requestorId, KeysetCursor.decodeWithPosition(cursor), size).toResponseEntity();
     }
 
     @GetMapping("/{requestId}")
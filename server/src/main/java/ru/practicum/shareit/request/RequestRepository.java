@@ -0,0 +1,29 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.entity.Request;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RequestRepository extends JpaRepository<Request, Long> {
+    @Query("select r " +
+            "from Request as r " +
+            "where r.requestor.id = :requestorId")
+    List<Request> findByRequestorId(@Param("requestorId") Long requestorId, Pageable page);
+
+    List<Request> findByRequestorIdNot(Long requestorId, Pageable page);
+
+    @Query("select r " +
+            "from Request as r " +
+            "where r.requestor.id <> :requestorId " +
+            "and r.created <= :created and (r.created < :created or r.id < :id) " +
+            "order by r.created desc, r.id desc")
+    List<Request> findByRequestorIdNotBefore(@Param("requestorId") Long requestorId,
+                                             @Param("created") LocalDateTime created,
+                                             @Param("id") long id,
+                                             Pageable page);
+}
\ No newline at end of file
@@ -4,7 +4,10 @@ import ru.practicum.shareit.request.dto.CreateRequestRequest;
 import ru.practicum.shareit.request.dto.CreateRequestResponse;
 import ru.practicum.shareit.request.dto.GetRequestResponse;
 import ru.practicum.shareit.request.entity.Request;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RequestService {
@@ -12,9 +15,13 @@ public interface RequestService {
 
     Request findById(Long requestId);
 
-    List<GetRequestResponse> findByRequestorId(Long requestorId);
+    List<Request> findAllById(Collection<Long> requestIds);
+
+    List<GetRequestResponse> findByRequestorId(Long requestorId, Long from, int size);
 
     List<GetRequestResponse> findRequestsForAnotherRequestors(Long requestorId, Long from, int size);
 
+    KeysetPage<GetRequestResponse> findRequestsForAnotherRequestors(Long requestorId, KeysetCursor cursor, int size);
+
     GetRequestResponse findDtoById(Long requestId, Long userId);
 }
\ No newline at end of file
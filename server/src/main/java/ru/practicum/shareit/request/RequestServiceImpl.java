@@ -0,0 +1,114 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.request.dto.CreateRequestRequest;
+import ru.practicum.shareit.request.dto.CreateRequestResponse;
+import ru.practicum.shareit.request.dto.GetRequestResponse;
+import ru.practicum.shareit.request.entity.Request;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constants.SORT_BY_CREATED_AND_ID_DESC;
+import static ru.practicum.shareit.util.Constants.SORT_BY_CREATED_DESC;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRED)
+public class RequestServiceImpl implements RequestService {
+    private final RequestRepository requestRepository;
+    private final UserService userService;
+    private final ItemRepository itemRepository;
+
+    @Override
+    public CreateRequestResponse save(CreateRequestRequest createRequestRequest, Long requestorId) {
+        Request request = new Request()
+                .setDescription(createRequestRequest.getDescription())
+                .setRequestor(userService.findById(requestorId));
+        return RequestMapper.toCreateRequestResponse(requestRepository.save(request));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Request findById(Long requestId) {
+        return requestRepository.findById(requestId).orElseThrow(() -> new NotFoundException(
+                String.format("Запрос с id %d не найден.", requestId)));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Request> findAllById(Collection<Long> requestIds) {
+        return requestRepository.findAllById(requestIds);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public GetRequestResponse findDtoById(Long requestId, Long userId) {
+        userService.checkExists(userId);
+        return RequestMapper.toGetRequestResponse(findById(requestId));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<GetRequestResponse> findByRequestorId(Long requestorId, Long from, int size) {
+        userService.checkExists(requestorId);
+        Pageable page = new OffsetBasedPageRequest(from, size, SORT_BY_CREATED_AND_ID_DESC);
+        return toGetRequestResponses(requestRepository.findByRequestorId(requestorId, page));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<GetRequestResponse> findRequestsForAnotherRequestors(Long requestorId, Long from, int size) {
+        Pageable page = new OffsetBasedPageRequest(from, size, SORT_BY_CREATED_DESC);
+        return toGetRequestResponses(requestRepository.findByRequestorIdNot(requestorId, page));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<GetRequestResponse> findRequestsForAnotherRequestors(Long requestorId, KeysetCursor cursor,
+                                                                           int size) {
+        List<Request> requests = cursor == null
+                ? requestRepository.findByRequestorIdNot(requestorId,
+                new OffsetBasedPageRequest(0, size + 1, SORT_BY_CREATED_AND_ID_DESC))
+                : requestRepository.findByRequestorIdNotBefore(requestorId, cursor.getPosition(), cursor.getId(),
+                new OffsetBasedPageRequest(0, size + 1));
+
+        KeysetPage<Request> page = KeysetPage.of(requests, size,
+                request -> KeysetCursor.of(request.getCreated(), request.getId()));
+
+        return new KeysetPage<>(toGetRequestResponses(page.getContent()), page.getNextCursor());
+    }
+
+    /**
+     * Loads the items of the whole page with one {@code in} query instead of initializing
+     * {@link Request#getItems()} once per request.
+     */
+    private List<GetRequestResponse> toGetRequestResponses(List<Request> requests) {
+        if (requests.isEmpty())
+            return Collections.emptyList();
+
+        List<Long> requestIds = requests.stream().map(Request::getId).collect(Collectors.toList());
+        Map<Long, List<ItemResponse>> items = itemRepository.findItemResponsesByRequestIdIn(requestIds)
+                .stream().collect(Collectors.groupingBy(ItemResponse::getRequestId));
+
+        return requests.stream()
+                .map(request -> RequestMapper.toGetRequestResponse(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.request.mapper;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.CreateRequestResponse;
 import ru.practicum.shareit.request.dto.GetRequestResponse;
 import ru.practicum.shareit.request.entity.Request;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 @UtilityClass
@@ -24,4 +26,12 @@ public class RequestMapper {
                 request.getCreated(),
                 request.getItems() == null ? null : request.getItems().stream().map(ItemMapper::toItemResponse).collect(Collectors.toList()));
     }
+
+    public GetRequestResponse toGetRequestResponse(Request request, List<ItemResponse> items) {
+        return new GetRequestResponse(
+                request.getId(),
+                request.getDescription(),
+                request.getCreated(),
+                items);
+    }
 }
\ No newline at end of file
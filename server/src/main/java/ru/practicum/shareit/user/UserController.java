@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.UpdateUserRequest;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.LineFormat;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.util.List;
+
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Validated
+@RequestMapping(path = "/users")
+public class UserController {
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public UserResponse save(@RequestBody @Valid CreateUserRequest createUserRequest) {
+        return userService.save(createUserRequest);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<UserResponse>> findAll(@RequestParam(defaultValue = "0") @Min(0) @Max(Long.MAX_VALUE) long from,
+                                                      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+                                                      @RequestParam(required = false) String cursor) {
+        if (cursor == null)
+            return ResponseEntity.ok(userService.findAll(from, size));
+        return userService.findAll(KeysetCursor.decode(cursor), size).toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public void exportAll(@RequestParam(defaultValue = "NDJSON") LineFormat format,
+                          HttpServletResponse response) throws IOException {
+        UserExportWriter writer = new UserExportWriter(format, response, objectMapper);
+        userService.exportAll(writer);
+        writer.finish();
+    }
+
+    @GetMapping("/{userId}")
+    public UserResponse findDtoById(@PathVariable long userId) {
+        return userService.findDtoById(userId);
+    }
+
+    @PatchMapping("/{userId}")
+    public UserResponse update(@RequestBody @Valid UpdateUserRequest updateUserRequest,
+                               @PathVariable long userId) {
+        return userService.update(updateUserRequest, userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    public void delete(@PathVariable long userId) {
+        userService.delete(userId);
+    }
+}
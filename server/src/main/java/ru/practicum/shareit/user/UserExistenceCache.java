@@ -0,0 +1,78 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-evicted record of user ids known to exist and of ids known to be missing. The second cache keeps
+ * repeated lookups of unknown {@code X-Sharer-User-Id} values away from the database; it lives shorter because
+ * a missing id may be taken by a new user.
+ */
+@Component
+public class UserExistenceCache {
+    private final Cache<Long, Boolean> existing;
+    private final Cache<Long, Boolean> missing;
+
+    public UserExistenceCache(@Value("${shareit.user.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${shareit.user.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                              @Value("${shareit.user.cache.missing-expire-after-write:1m}")
+                              Duration missingExpireAfterWrite,
+                              MeterRegistry meterRegistry) {
+        existing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        missing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(missingExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, existing, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "users.missing");
+    }
+
+    public boolean isExisting(long userId) {
+        return existing.getIfPresent(userId) != null;
+    }
+
+    public boolean isMissing(long userId) {
+        return missing.getIfPresent(userId) != null;
+    }
+
+    public void putExisting(long userId) {
+        missing.invalidate(userId);
+        existing.put(userId, Boolean.TRUE);
+    }
+
+    public void putMissing(long userId) {
+        existing.invalidate(userId);
+        missing.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * Invalidates now and once more after the current transaction commits, since a lookup running between the
+     * two still reads the old state from the database and caches it again.
+     */
+    public void invalidate(long userId) {
+        existing.invalidate(userId);
+        missing.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    existing.invalidate(userId);
+                    missing.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.util.LineExportWriter;
+import ru.practicum.shareit.util.LineFormat;
+
+import javax.servlet.http.HttpServletResponse;
+
+class UserExportWriter extends LineExportWriter<UserResponse> {
+    static final String CSV_HEADER = "id,name,email";
+
+    UserExportWriter(LineFormat format, HttpServletResponse response, ObjectMapper objectMapper) {
+        super(format, response, objectMapper);
+    }
+
+    @Override
+    protected String csvHeader() {
+        return CSV_HEADER;
+    }
+
+    @Override
+    protected String toCsv(UserResponse user) {
+        return String.join(",",
+                String.valueOf(user.getId()),
+                quote(user.getName()),
+                quote(user.getEmail()));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.entity.User;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    List<User> findAllByEmailIn(Collection<String> emails);
+
+    @Query("select new ru.practicum.shareit.user.dto.UserResponse(u.id, u.name, u.email) " +
+            "from User as u " +
+            "order by u.id")
+    List<UserResponse> findUserResponses(Pageable page);
+
+    @Query("select new ru.practicum.shareit.user.dto.UserResponse(u.id, u.name, u.email) " +
+            "from User as u " +
+            "where u.id > :afterId " +
+            "order by u.id")
+    List<UserResponse> findUserResponsesByIdAfter(@Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Walks all users in id order with a database cursor fetching 500 rows at a time. Rows are read as DTOs,
+     * so nothing accumulates in the persistence context. Must be closed, within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.user.dto.UserResponse(u.id, u.name, u.email) " +
+            "from User as u " +
+            "order by u.id")
+    Stream<UserResponse> streamUserResponses();
+}
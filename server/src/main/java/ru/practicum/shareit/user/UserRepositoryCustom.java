@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user;
+
+public interface UserRepositoryCustom {
+    /**
+     * Evicts the second-level cache regions whose rows the database removes by {@code ON DELETE CASCADE}
+     * together with a user: items, requests and item comment collections. Within a transaction
+     * the eviction runs once it completes, so concurrent readers cannot re-cache rows that are about to go.
+     */
+    void evictCascadedFromCache();
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.user;
+
+import org.hibernate.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.request.entity.Request;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void evictCascadedFromCache() {
+        Cache cache = em.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(cache);
+            }
+        });
+    }
+
+    private static void evict(Cache cache) {
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(Request.class);
+        cache.evictCollectionData(Item.class.getName() + ".comments");
+    }
+}
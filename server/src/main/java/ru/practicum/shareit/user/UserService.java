@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.CreateUserResult;
+import ru.practicum.shareit.user.dto.UpdateUserRequest;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserService {
+    UserResponse save(CreateUserRequest createUserRequest);
+
+    List<CreateUserResult> saveAll(List<CreateUserRequest> createUserRequests);
+
+    List<UserResponse> findAll(long from, int size);
+
+    KeysetPage<UserResponse> findAll(KeysetCursor cursor, int size);
+
+    /**
+     * Passes every user to {@code action} in id order while it is read from a database cursor,
+     * without collecting them.
+     */
+    void exportAll(Consumer<UserResponse> action);
+
+    UserResponse findDtoById(long userId);
+
+    User findById(long userId);
+
+    /**
+     * Throws {@link ru.practicum.shareit.exception.UserNotFoundException} if the user does not exist,
+     * answering from {@link UserExistenceCache} when possible.
+     */
+    void checkExists(long userId);
+
+    UserResponse update(UpdateUserRequest updateUserRequest, long userId);
+
+    void delete(long userId);
+}
\ No newline at end of file
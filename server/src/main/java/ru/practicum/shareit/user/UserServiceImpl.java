@@ -0,0 +1,152 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.CreateUserResult;
+import ru.practicum.shareit.user.dto.UpdateUserRequest;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(propagation = Propagation.REQUIRED)
+@RequiredArgsConstructor
+public class UserServiceImpl implements UserService {
+    private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+
+    @Override
+    public UserResponse save(CreateUserRequest createUserRequest) {
+        User user = userRepository.save(UserMapper.toUser(createUserRequest));
+        userExistenceCache.invalidate(user.getId());
+        return UserMapper.toUserResponse(user);
+    }
+
+    /**
+     * Checks the e-mails of the whole batch with one {@code IN} query and inserts the remaining users in one JDBC
+     * batch. Elements with an e-mail that is taken or repeated earlier in the batch are reported and skipped.
+     */
+    @Override
+    public List<CreateUserResult> saveAll(List<CreateUserRequest> createUserRequests) {
+        Set<String> emails = userRepository.findAllByEmailIn(createUserRequests.stream()
+                        .map(CreateUserRequest::getEmail)
+                        .collect(Collectors.toSet())).stream()
+                .map(User::getEmail)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<CreateUserResult> results = new ArrayList<>(createUserRequests.size());
+        Map<Integer, User> users = new LinkedHashMap<>();
+        for (int i = 0; i < createUserRequests.size(); i++) {
+            CreateUserRequest createUserRequest = createUserRequests.get(i);
+            if (emails.add(createUserRequest.getEmail())) {
+                users.put(i, UserMapper.toUser(createUserRequest));
+                results.add(new CreateUserResult(i, null, null));
+            } else {
+                results.add(new CreateUserResult(i, null, String.format("Пользователь с email %s уже существует.",
+                        createUserRequest.getEmail())));
+            }
+        }
+
+        userRepository.saveAll(users.values());
+        userRepository.flush();
+        users.forEach((index, user) -> {
+            userExistenceCache.invalidate(user.getId());
+            results.get(index).setUser(UserMapper.toUserResponse(user));
+        });
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponse> findAll(long from, int size) {
+        return userRepository.findUserResponses(new OffsetBasedPageRequest(from, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UserResponse> findAll(KeysetCursor cursor, int size) {
+        List<UserResponse> users = userRepository.findUserResponsesByIdAfter(cursor == null ? 0 : cursor.getId(),
+                new OffsetBasedPageRequest(0, size + 1));
+        return KeysetPage.of(users, size, user -> KeysetCursor.of(user.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<UserResponse> action) {
+        try (Stream<UserResponse> users = userRepository.streamUserResponses()) {
+            users.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public User findById(long userId) {
+        if (userExistenceCache.isMissing(userId))
+            throw notFound(userId);
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            userExistenceCache.putMissing(userId);
+            throw notFound(userId);
+        }
+        userExistenceCache.putExisting(userId);
+        return user;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkExists(long userId) {
+        if (userExistenceCache.isExisting(userId))
+            return;
+        if (userExistenceCache.isMissing(userId) || !userRepository.existsById(userId)) {
+            userExistenceCache.putMissing(userId);
+            throw notFound(userId);
+        }
+        userExistenceCache.putExisting(userId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserResponse findDtoById(long userId) {
+        return UserMapper.toUserResponse(findById(userId));
+    }
+
+    @Override
+    public UserResponse update(UpdateUserRequest updateUserRequest, long userId) {
+        User user = UserMapper.toUser(updateUserRequest).setId(userId);
+        User oldUser = findById(userId);
+        userExistenceCache.invalidate(userId);
+        return UserMapper.toUserResponse(userRepository.save(oldUser
+                .setName(user.getName() == null ? oldUser.getName() : user.getName())
+                .setEmail(user.getEmail() == null ? oldUser.getEmail() : user.getEmail())));
+    }
+
+    @Override
+    public void delete(long userId) {
+        findById(userId);
+        userRepository.deleteById(userId);
+        userRepository.evictCascadedFromCache();
+        userExistenceCache.invalidate(userId);
+    }
+
+    private static UserNotFoundException notFound(long userId) {
+        return new UserNotFoundException(String.format("Пользователь с id %s не найден.", userId));
+    }
+}
\ No newline at end of file
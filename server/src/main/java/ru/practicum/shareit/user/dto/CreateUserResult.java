@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one element of a batch user creation: either the created user or the reason it was rejected.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreateUserResult {
+    private int index;
+    private UserResponse user;
+    private String error;
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset (seek) page: the sort column value and the id used as a
+ * tie-breaker. Clients receive it as an opaque token and send it back unchanged to get the next page.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class KeysetCursor {
+    private static final String SEPARATOR = "~";
+
+    private final LocalDateTime position;
+    private final long id;
+
+    public static KeysetCursor of(LocalDateTime position, long id) {
+        return new KeysetCursor(position, id);
+    }
+
+    public static KeysetCursor of(long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = (position == null ? "" : position.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor of a listing ordered by id alone.
+     *
+     * @return decoded cursor or {@literal null} for a blank token, which requests the first page.
+     */
+    public static KeysetCursor decode(String token) {
+        return decode(token, false);
+    }
+
+    /**
+     * Decodes a cursor of a listing ordered by a date and the id, which must carry the date.
+     *
+     * @return decoded cursor or {@literal null} for a blank token, which requests the first page.
+     */
+    public static KeysetCursor decodeWithPosition(String token) {
+        return decode(token, true);
+    }
+
+    private static KeysetCursor decode(String token, boolean positioned) {
+        if (token == null || token.isBlank())
+            return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0)
+                throw new IllegalArgumentException(raw);
+            String position = raw.substring(0, separator);
+            if (position.isEmpty() == positioned)
+                throw new IllegalArgumentException(raw);
+            return new KeysetCursor(positioned ? LocalDateTime.parse(position) : null,
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(String.format("Передан некорректный курсор пагинации %s", token));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+
+@Getter
+@RequiredArgsConstructor
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with limit {@code size + 1}: the extra row only signals that another page
+     * exists, so the cursor points at the last row that is actually returned.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= size)
+            return new KeysetPage<>(rows, null);
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+
+    public <R> KeysetPage<R> map(Function<? super T, R> mapper) {
+        return new KeysetPage<>(content.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null)
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        return response.body(content);
+    }
+}
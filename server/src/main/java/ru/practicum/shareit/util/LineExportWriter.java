@@ -0,0 +1,64 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported rows straight to the response output stream, one line each. The response is opened with the
+ * first row, so an error raised before it still gets the regular error response.
+ */
+@RequiredArgsConstructor
+public abstract class LineExportWriter<T> implements Consumer<T> {
+    private final LineFormat format;
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private Writer writer;
+
+    @Override
+    public void accept(T row) {
+        try {
+            open();
+            writer.write(format == LineFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens the response if no row was written, so an empty export still has its content type and CSV header.
+     */
+    public void finish() throws IOException {
+        open();
+        writer.flush();
+    }
+
+    protected abstract String csvHeader();
+
+    protected abstract String toCsv(T row);
+
+    protected static String quote(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n"))
+            return '"' + value.replace("\"", "\"\"") + '"';
+        return value;
+    }
+
+    private void open() throws IOException {
+        if (writer != null)
+            return;
+        response.setContentType(format == LineFormat.CSV ? LineFormat.CSV_VALUE : LineFormat.NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (format == LineFormat.CSV)
+            writer.write(csvHeader() + '\n');
+    }
+}
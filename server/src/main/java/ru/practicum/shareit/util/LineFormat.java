@@ -0,0 +1,18 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Line-based formats of imports and exports: one JSON object per line, or CSV with a header naming the fields.
+ */
+public enum LineFormat {
+    NDJSON,
+    CSV;
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    public static LineFormat of(MediaType mediaType) {
+        return MediaType.valueOf(CSV_VALUE).isCompatibleWith(mediaType) ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck). Level {@code k} has {@code wheelSize} slots spanning
+ * {@code tick * wheelSize^k} each, so scheduling a deadline is O(1) however far it is, and advancing by one tick
+ * visits the level 0 slot plus one slot of every level that wraps. An entry moves down a level each time its slot
+ * comes round, at most once per level. Deadlines beyond the top level wait in its slots and are placed again on
+ * every rotation. Entries cannot be cancelled: the consumer ignores those that no longer apply. Not thread-safe.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final List<Entry<T>>[][] slots;
+    private List<Entry<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long nowMillis) {
+        Assert.isTrue(tickMillis > 0, "Такт должен быть положительным.");
+        Assert.isTrue(wheelSize > 1 && Integer.bitCount(wheelSize) == 1, "Размер колеса должен быть степенью двойки.");
+        Assert.isTrue(levels > 0 && Integer.numberOfTrailingZeros(wheelSize) * levels < Long.SIZE - 1,
+                "Слишком много уровней колеса.");
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.slots = new List[levels][wheelSize];
+        for (List<Entry<T>>[] level : slots)
+            for (int slot = 0; slot < wheelSize; slot++)
+                level[slot] = new ArrayList<>();
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * The deadline is rounded up to a whole tick, so an entry is never due before it.
+     */
+    public void schedule(T value, long deadlineMillis) {
+        place(new Entry<>(value, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis)));
+        size++;
+    }
+
+    /**
+     * Passes every entry with a deadline at or before {@code nowMillis} to {@code due} and forgets it.
+     */
+    public void advance(long nowMillis, Consumer<? super T> due) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            int wrapped = Math.min(slots.length - 1, Long.numberOfTrailingZeros(currentTick) / bits);
+            for (int level = wrapped; level > 0; level--)
+                cascade(level, (int) (currentTick >>> (bits * level)) & mask);
+            fire(slots[0], (int) currentTick & mask, due);
+        }
+        if (!overdue.isEmpty()) {
+            List<Entry<T>> entries = overdue;
+            overdue = new ArrayList<>();
+            entries.forEach(entry -> due.accept(entry.value));
+            size -= entries.size();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry);
+            return;
+        }
+        int level = Math.min(slots.length - 1, (Long.SIZE - 1 - Long.numberOfLeadingZeros(delta)) / bits);
+        slots[level][(int) (entry.tick >>> (bits * level)) & mask].add(entry);
+    }
+
+    /**
+     * The slot is swapped out before its entries are placed again: one beyond the top level lands in the same slot.
+     */
+    private void cascade(int level, int slot) {
+        List<Entry<T>> entries = slots[level][slot];
+        if (entries.isEmpty())
+            return;
+        slots[level][slot] = new ArrayList<>();
+        entries.forEach(this::place);
+    }
+
+    private void fire(List<Entry<T>>[] level, int slot, Consumer<? super T> due) {
+        List<Entry<T>> entries = level[slot];
+        if (entries.isEmpty())
+            return;
+        level[slot] = new ArrayList<>();
+        entries.forEach(entry -> due.accept(entry.value));
+        size -= entries.size();
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long tick;
+
+        private Entry(T value, long tick) {
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS items, users, requests, bookings, comments;
-
 CREATE TABLE IF NOT EXISTS users
 (
     id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
@@ -44,4 +42,4 @@ CREATE TABLE IF NOT EXISTS comments
     item_id   BIGINT           NOT NULL REFERENCES items (id) ON DELETE CASCADE,
     author_id BIGINT           NOT NULL REFERENCES users (id) ON DELETE CASCADE,
     created   TIMESTAMP WITHOUT TIME ZONE          NOT NULL
-);
\ No newline at end of file
+);
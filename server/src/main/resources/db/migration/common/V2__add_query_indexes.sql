@@ -0,0 +1,17 @@
+CREATE INDEX bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX bookings_booker_status_start_idx ON bookings (booker_id, status, start_date);
+
+CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX bookings_status_end_idx ON bookings (status, end_date);
+
+CREATE INDEX items_owner_idx ON items (owner_id, id);
+
+CREATE INDEX items_request_idx ON items (request_id);
+
+CREATE INDEX comments_item_created_idx ON comments (item_id, created);
+
+CREATE INDEX requests_requestor_created_idx ON requests (requestor_id, created);
+
+CREATE INDEX requests_created_idx ON requests (created DESC, id DESC);
@@ -0,0 +1,3 @@
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE bookings_seq INCREMENT BY 50;
@@ -0,0 +1,29 @@
+CREATE TABLE item_booking_summary
+(
+    item_id         BIGINT NOT NULL PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+    last_booking_id BIGINT REFERENCES bookings (id) ON DELETE SET NULL,
+    last_booker_id  BIGINT,
+    last_start      TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT REFERENCES bookings (id) ON DELETE SET NULL,
+    next_booker_id  BIGINT,
+    next_start      TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE INDEX item_booking_summary_next_start_idx ON item_booking_summary (next_start);
+
+INSERT INTO item_booking_summary (item_id, last_booking_id, last_booker_id, last_start,
+                                  next_booking_id, next_booker_id, next_start)
+SELECT i.id, l.id, l.booker_id, l.start_date, n.id, n.booker_id, n.start_date
+FROM items AS i
+         LEFT JOIN (SELECT b.item_id, b.id, b.booker_id, b.start_date,
+                           row_number() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC) AS rn
+                    FROM bookings AS b
+                    WHERE b.status = 'APPROVED' AND b.start_date < LOCALTIMESTAMP) AS l
+                   ON l.item_id = i.id AND l.rn = 1
+         LEFT JOIN (SELECT b.item_id, b.id, b.booker_id, b.start_date,
+                           row_number() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC) AS rn
+                    FROM bookings AS b
+                    WHERE b.status = 'APPROVED' AND b.start_date > LOCALTIMESTAMP) AS n
+                   ON n.item_id = i.id AND n.rn = 1
+WHERE l.id IS NOT NULL
+   OR n.id IS NOT NULL;
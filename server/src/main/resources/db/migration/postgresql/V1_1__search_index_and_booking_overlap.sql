@@ -0,0 +1,16 @@
+CREATE INDEX IF NOT EXISTS items_search_idx ON items
+    USING GIN (to_tsvector('simple', name || ' ' || description));
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO
+$$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT bookings_no_overlap
+                EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+                WHERE (status IN ('WAITING', 'APPROVED'));
+    END IF;
+END
+$$;
@@ -0,0 +1,46 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * A database created by the former {@code schema.sql} has no Flyway history; the application settings must
+ * migrate it in place.
+ */
+class LegacySchemaMigrationTest {
+
+    @Test
+    void migrate_whenLegacySchemaWithoutHistory_thenBaselineAndKeepRows() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadAllProperties("application.properties");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("legacy-schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into users (name, email) values ('Игорь', 'igor@mail.ru')");
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(Boolean.parseBoolean(properties.getProperty("spring.flyway.baseline-on-migrate")))
+                .baselineVersion(properties.getProperty("spring.flyway.baseline-version"))
+                .load()
+                .migrate();
+
+        assertThat(result.success, equalTo(true));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Integer.class), equalTo(1));
+        assertThat(jdbcTemplate.queryForObject("select next value for users_seq", Long.class), equalTo(2L));
+        jdbcTemplate.execute("drop all objects");
+    }
+}
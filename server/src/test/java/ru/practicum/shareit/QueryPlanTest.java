@@ -0,0 +1,162 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.BookingSpecifications.*;
+import static ru.practicum.shareit.util.Constants.SORT_BY_CREATED_AND_ID_DESC;
+
+/**
+ * Runs every hot repository query, captures the SQL Hibernate sends and fails if the H2 plan for it contains
+ * a full table scan. Full-text search is not covered: LIKE '%text%' cannot use a btree index.
+ */
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"db.name=test",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.QueryPlanTest$RecordingStatementInspector"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanTest {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final RequestRepository requestRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final OffsetBasedPageRequest page = new OffsetBasedPageRequest(20, 10);
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() {
+        for (BookingState state : BookingState.values()) {
+            for (BookingRole role : BookingRole.values()) {
+                assertNoTableScan(role + " " + state, () -> bookingRepository.findResponses(hasRole(role, 1L)
+                        .and(inState(state, now)), byStartAndId(role.direction(state)), 20, 10));
+            }
+        }
+        assertNoTableScan("booker keyset", () -> bookingRepository.findResponses(hasBooker(1L)
+                        .and(seekAfter(KeysetCursor.of(now, 5L), Sort.Direction.DESC)),
+                byStartAndId(Sort.Direction.DESC), 11));
+        assertNoTableScan("owner keyset", () -> bookingRepository.findResponses(hasItemOwner(1L)
+                        .and(seekAfter(KeysetCursor.of(now, 5L), Sort.Direction.DESC)),
+                byStartAndId(Sort.Direction.DESC), 11));
+        assertNoTableScan("booking summaries of items", () -> itemBookingSummaryRepository
+                .findAllById(List.of(1L, 2L)));
+        assertNoTableScan("started booking summaries", () -> itemBookingSummaryRepository
+                .findByNextStartLessThanEqualOrderByNextStart(now, PageRequest.of(0, 500)));
+        assertNoTableScan("last bookings", () -> bookingRepository
+                .findLastBookings(List.of(1L, 2L), Status.APPROVED, now));
+        assertNoTableScan("next bookings", () -> bookingRepository
+                .findNextBookings(List.of(1L, 2L), Status.APPROVED, now));
+        assertNoTableScan("finished booking of author", () -> bookingRepository
+                .findFirstByBooker_IdAndItem_IdAndStatusAndEndIsBefore(1L, 1L, Status.APPROVED, now));
+        assertNoTableScan("waiting bookings to expire", () -> {
+            try (Stream<BookingInterval> intervals = bookingRepository.findIntervalsByStatus(Status.WAITING)) {
+                intervals.count();
+            }
+        });
+        assertNoTableScan("due waiting bookings", () -> bookingRepository
+                .findWithItemByIdInAndStatus(List.of(1L, 2L), Status.WAITING));
+    }
+
+    @Test
+    void bookingStateQueriesBindUserIdAndStatus() {
+        List<String> statements = new ArrayList<>();
+        for (long userId = 1; userId <= 2; userId++) {
+            STATEMENTS.clear();
+            bookingRepository.findResponses(hasRole(BookingRole.OWNER, userId).and(inState(BookingState.WAITING, now)),
+                    byStartAndId(Sort.Direction.DESC), 0, 10);
+            statements.addAll(STATEMENTS);
+        }
+
+        assertEquals(2, statements.size());
+        assertEquals(statements.get(0), statements.get(1));
+    }
+
+    @Test
+    void itemAndCommentQueriesUseIndexes() {
+        assertNoTableScan("owner items", () -> itemRepository.findByOwnerId(1L, page));
+        assertNoTableScan("owner items keyset", () -> itemRepository
+                .findByOwnerIdAndIdAfter(1L, 5L, new OffsetBasedPageRequest(0, 11)));
+        assertNoTableScan("item responses by ids", () -> itemRepository.findItemResponsesByIdIn(List.of(1L, 2L)));
+        assertNoTableScan("items of requests", () -> itemRepository.findItemResponsesByRequestIdIn(List.of(1L, 2L)));
+        assertNoTableScan("item comments", () -> commentRepository.findByItem_IdOrderByCreatedAsc(1L));
+        assertNoTableScan("comments of items", () -> commentRepository.findByItemIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void requestQueriesUseIndexes() {
+        assertNoTableScan("own requests", () -> requestRepository
+                .findByRequestorId(1L, new OffsetBasedPageRequest(0, 10, SORT_BY_CREATED_AND_ID_DESC)));
+        assertNoTableScan("other requests", () -> requestRepository
+                .findByRequestorIdNot(1L, new OffsetBasedPageRequest(0, 11, SORT_BY_CREATED_AND_ID_DESC)));
+        assertNoTableScan("other requests keyset", () -> requestRepository
+                .findByRequestorIdNotBefore(1L, now, 5L, new OffsetBasedPageRequest(0, 11)));
+    }
+
+    private void assertNoTableScan(String name, Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+        assertTrue(STATEMENTS.size() > 0, name + ": no statement captured");
+
+        for (String plan : explain(new ArrayList<>(STATEMENTS)))
+            assertFalse(plan.contains(".tableScan"), name + " falls back to a table scan:\n" + plan);
+    }
+
+    private List<String> explain(List<String> statements) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> plans = new ArrayList<>();
+            for (String sql : statements) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                     ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next())
+                        plans.add(resultSet.getString(1));
+                }
+            }
+            return plans;
+        });
+    }
+}
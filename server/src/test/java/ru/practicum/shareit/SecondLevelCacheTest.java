@@ -0,0 +1,152 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.exception.ItemNotAvailableException;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.entity.Comment;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.dto.CreateRequestRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.UpdateUserRequest;
+import ru.practicum.shareit.user.entity.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Not transactional on purpose: the second-level cache is filled and invalidated on commit.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheTest {
+    private final EntityManagerFactory emf;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final RequestService requestService;
+    private final BookingService bookingService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private long ownerId;
+    private long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        ownerId = userService.save(new CreateUserRequest().setName("Игорь").setEmail("igor@mail.ru")).getId();
+        itemId = itemService.saveItem(ownerId, new CreateItemRequest("Дрель", "Простая дрель", true, null)).getId();
+        statistics.clear();
+    }
+
+    @Test
+    void saveItem_whenCommitted_thenServedFromCacheWithoutSelect() {
+        Item item = itemService.findById(itemId);
+
+        assertThat(item.getName(), equalTo("Дрель"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void findById_whenCalledTwice_thenSecondCallServedFromCache() {
+        emf.getCache().evictAll();
+        itemService.findById(itemId);
+        long statements = statistics.getPrepareStatementCount();
+
+        Item item = itemService.findById(itemId);
+        assertThat(item.getName(), equalTo("Дрель"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(statements));
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void updateUser_whenUserCached_thenCacheServesNewValue() {
+        userService.findById(ownerId);
+
+        userService.update(new UpdateUserRequest().setName("Паша"), ownerId);
+        long statements = statistics.getPrepareStatementCount();
+
+        User user = userService.findById(ownerId);
+        assertThat(user.getName(), equalTo("Паша"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(statements));
+    }
+
+    @Test
+    void updateItem_whenItemCached_thenCacheServesNewValue() {
+        itemService.findById(itemId);
+
+        itemService.update(ownerId, itemId, new UpdateItemRequest("Перфоратор", null, false));
+
+        Item item = itemService.findById(itemId);
+        assertThat(item.getName(), equalTo("Перфоратор"));
+        assertThat(item.getAvailable(), equalTo(false));
+    }
+
+    @Test
+    void saveBooking_whenCachedItemDisabledBehindCache_thenCheckReadsDatabase() {
+        long bookerId = userService.save(new CreateUserRequest().setName("Паша").setEmail("pasha@mail.ru")).getId();
+        itemService.findById(itemId);
+        jdbcTemplate.update("update items set is_available = false where id = ?", itemId);
+
+        assertThat(itemService.findById(itemId).getAvailable(), equalTo(true));
+        assertThrows(ItemNotAvailableException.class, () -> bookingService.save(bookerId, new CreateBookingRequest(
+                itemId, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2))));
+    }
+
+    @Test
+    void deleteUser_whenOwnedItemAndRequestCached_thenCascadedRowsEvicted() {
+        long requestId = requestService.save(new CreateRequestRequest().setDescription("Нужна дрель"), ownerId)
+                .getId();
+        itemService.findById(itemId);
+        requestService.findById(requestId);
+
+        userService.delete(ownerId);
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.findById(itemId));
+        assertThrows(NotFoundException.class, () -> requestService.findById(requestId));
+        assertThrows(UserNotFoundException.class, () -> userService.findById(ownerId));
+    }
+
+    @Test
+    void itemComments_whenCommentAdded_thenCachedCollectionEvicted() {
+        assertThat(commentCount(), equalTo(0));
+
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Comment()
+                .setText("Отличная дрель")
+                .setItem(em.getReference(Item.class, itemId))
+                .setAuthor(em.getReference(User.class, ownerId))));
+
+        assertThat(commentCount(), equalTo(1));
+    }
+
+    private int commentCount() {
+        return transactionTemplate.execute(status -> em.find(Item.class, itemId).getComments().size());
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.config.OptimisticLockRetryAspect;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.StatusAlreadyChangedException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Runs without a test transaction: every thread commits its own, as concurrent requests do. H2 has no exclusion
+ * constraint, so only the item lock keeps concurrent overlapping bookings out.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingApprovalConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerId = userService.save(new CreateUserRequest().setName("Игорь").setEmail("igor@mail.ru")).getId();
+        bookerId = userService.save(new CreateUserRequest().setName("Павел").setEmail("pavel@mail.ru")).getId();
+        itemId = itemService.saveItem(ownerId, new CreateItemRequest("Дрель", "Ударная 20V", true, null)).getId();
+    }
+
+    @Test
+    void update_whenApprovedAndRejectedConcurrently_thenOnlyOneStatusChangeWins() throws Exception {
+        int approved = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            LocalDateTime start = LocalDateTime.now().plusDays(2L * round + 1).withNano(0);
+            long bookingId = bookingService.save(bookerId, new CreateBookingRequest(itemId, start,
+                    start.plusDays(1))).getId();
+
+            List<Object> outcomes = race(thread -> () -> bookingService.update(bookingId, ownerId, thread % 2 == 0));
+
+            List<BookingResponse> winners = new ArrayList<>();
+            for (Object outcome : outcomes) {
+                if (outcome instanceof BookingResponse)
+                    winners.add((BookingResponse) outcome);
+                else
+                    assertThat(outcome, anyOf(instanceOf(StatusAlreadyChangedException.class),
+                            instanceOf(OptimisticLockingFailureException.class)));
+            }
+            assertThat(winners.size(), equalTo(1));
+
+            Map<String, Object> row = jdbcTemplate.queryForMap("select status, version from bookings where id = ?",
+                    bookingId);
+            assertThat(row.get("status"), equalTo(winners.get(0).getStatus().name()));
+            assertThat(((Number) row.get("version")).longValue(), equalTo(1L));
+            if (winners.get(0).getStatus() == Status.APPROVED)
+                approved++;
+        }
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookings where item_id = ? and status = ?",
+                Long.class, itemId, Status.APPROVED.name()), equalTo((long) approved));
+    }
+
+    @Test
+    void save_whenOverlappingBookingsCreatedConcurrently_thenOnlyOneIsSaved() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        List<Object> outcomes = race(thread -> () -> bookingService.save(bookerId,
+                new CreateBookingRequest(itemId, start.plusHours(thread), start.plusHours(thread + THREADS))));
+
+        long saved = outcomes.stream().filter(BookingResponse.class::isInstance).count();
+        outcomes.stream()
+                .filter(outcome -> !(outcome instanceof BookingResponse))
+                .forEach(outcome -> assertThat(outcome, instanceOf(BookingOverlapException.class)));
+        assertThat(saved, equalTo(1L));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookings where item_id = ?", Long.class, itemId),
+                equalTo(1L));
+    }
+
+    @Test
+    void update_whenItemUpdatedConcurrently_thenEveryCommittedUpdateIsCounted() throws Exception {
+        List<Object> outcomes = race(thread -> () -> itemService.update(ownerId, itemId,
+                new UpdateItemRequest("Дрель " + thread, null, null)));
+
+        long committed = outcomes.stream().filter(ItemResponse.class::isInstance).count();
+        outcomes.stream()
+                .filter(outcome -> !(outcome instanceof ItemResponse))
+                .forEach(outcome -> assertThat(outcome, instanceOf(OptimisticLockingFailureException.class)));
+        assertThat(jdbcTemplate.queryForObject("select version from items where id = ?", Long.class, itemId),
+                equalTo(committed));
+        assertThat(meterRegistry.find(OptimisticLockRetryAspect.ATTEMPTS_METRIC)
+                .tags("service", "ItemServiceImpl", "method", "update")
+                .summary(), notNullValue());
+    }
+
+    /**
+     * Starts all calls at once and returns, per thread, either the result or the thrown exception.
+     */
+    private List<Object> race(IntFunction<Callable<?>> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                Callable<?> task = call.apply(thread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    outcomes.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -7,24 +7,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.mockito.ArgumentMatchers;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
+import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.user.dto.UserShort;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+import ru.practicum.shareit.util.LineFormat;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.util.Constants.DATE_TIME_FORMATTER;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.shareit.util.Constants.TOTAL_COUNT_HEADER;
 import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -108,6 +125,53 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.name").value(bookingResponse.getItem().getName()));
     }
 
+    @Test
+    void givenBookingDtos_whenSaveAll_thenReturnResultPerElement() throws Exception {
+        when(bookingService.saveAll(anyLong(), anyList()))
+                .thenReturn(List.of(new CreateBookingResult(0, bookingResponse, null),
+                        new CreateBookingResult(1, null, "Предмет не доступен для бронирования.")));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(createBookingRequest, createBookingRequest)))
+                        .header(USER_ID_HEADER, 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].booking.id").value(bookingResponse.getId()))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("Предмет не доступен для бронирования."));
+    }
+
+    @Test
+    void givenEmptyList_whenSaveAll_thenThrowException() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .content("[]")
+                        .header(USER_ID_HEADER, 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+        verify(bookingService, never()).saveAll(anyLong(), anyList());
+    }
+
+    @Test
+    void givenInvalidElement_whenSaveAll_thenThrowException() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(createBookingRequest,
+                                createBookingRequestWithStartAfterEnd)))
+                        .header(USER_ID_HEADER, 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+        verify(bookingService, never()).saveAll(anyLong(), anyList());
+    }
+
     @Test
     void givenNullItemId_whenSave_thenThrowException() throws Exception {
         when(bookingService.save(anyLong(), any(CreateBookingRequest.class)))
@@ -239,6 +303,20 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.id").value(bookingResponse.getItem().getId()));
     }
 
+    @Test
+    void givenConflictRetriesExhausted_whenUpdate_thenConflict() throws Exception {
+        when(bookingService.update(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        mvc.perform(patch("/bookings/{bookingId}", 1L)
+                        .header(USER_ID_HEADER, 1L)
+                        .param("approved", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void givenNullPathVariable_whenUpdate_thenThrowException() throws Exception {
         when(bookingService.update(anyLong(), anyLong(), anyBoolean()))
@@ -360,6 +438,104 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].item.name").value(bookingResponse.getItem().getName()));
     }
 
+    @Test
+    void givenCursor_whenFindByBookerIdAndState_thenReturnPageAndNextCursorHeader() throws Exception {
+        KeysetCursor cursor = KeysetCursor.of(bookingResponse.getStart(), bookingResponse.getId());
+        when(bookingService.findByBookerIdAndState(anyLong(), anyString(), any(KeysetCursor.class), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(bookingResponse), "next"));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", cursor.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(bookingResponse.getId()));
+        verify(bookingService).findByBookerIdAndState(1L, "ALL", cursor, 1);
+    }
+
+    @Test
+    void givenEmptyCursor_whenFindByItemOwnerIdAndState_thenRequestFirstKeysetPage() throws Exception {
+        when(bookingService.findByItemOwnerIdAndState(anyLong(), anyString(), ArgumentMatchers.<KeysetCursor>isNull(), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(bookingResponse), null));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("cursor", "")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(bookingService).findByItemOwnerIdAndState(1L, "ALL", (KeysetCursor) null, 10);
+    }
+
+    @Test
+    void givenWithTotal_whenFindByItemOwnerIdAndState_thenReturnTotalCountHeader() throws Exception {
+        when(bookingService.findByItemOwnerIdAndState(anyLong(), anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of(bookingResponse));
+        when(bookingService.countByItemOwnerIdAndState(anyLong(), anyString()))
+                .thenReturn(7L);
+
+        mvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("state", "PAST")
+                        .param("withTotal", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TOTAL_COUNT_HEADER, "7"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(bookingService).countByItemOwnerIdAndState(1L, "PAST");
+    }
+
+    @Test
+    void givenCursorWithoutTotal_whenFindByBookerIdAndState_thenNotCount() throws Exception {
+        when(bookingService.findByBookerIdAndState(anyLong(), anyString(), ArgumentMatchers.<KeysetCursor>isNull(), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(bookingResponse), "next"));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("cursor", "")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "next"))
+                .andExpect(header().doesNotExist(TOTAL_COUNT_HEADER));
+        verify(bookingService, never()).countByBookerIdAndState(anyLong(), anyString());
+    }
+
+    @Test
+    void givenMalformedCursor_whenFindByBookerIdAndState_thenThrowException() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("cursor", "%%%")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+    }
+
+    @Test
+    void givenCursorWithoutPosition_whenFindByBookerIdAndState_thenThrowException() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("cursor", KeysetCursor.of(1L).encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+        verify(bookingService, never()).findByBookerIdAndState(anyLong(), anyString(), any(KeysetCursor.class), anyInt());
+    }
+
     @Test
     void givenNoBookerId_whenFindByBookerIdAndState_thenThrowException() throws Exception {
         mvc.perform(get("/bookings")
@@ -510,4 +686,71 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(400));
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenOwnerBookings_whenExportAsNdjson_thenWriteOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingResponse> action = invocation.getArgument(2);
+            action.accept(bookingResponse);
+            action.accept(bookingResponse);
+            return null;
+        }).when(bookingService).exportByItemOwnerIdAndState(eq(1L), eq("ALL"), any());
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(LineFormat.NDJSON_VALUE))
+                .andExpect(content().string(mapper.writeValueAsString(bookingResponse) + "\n"
+                        + mapper.writeValueAsString(bookingResponse) + "\n"));
+    }
+
+    @Test
+    void givenBookerBookings_whenExportAsCsv_thenWriteHeaderAndQuotedValues() throws Exception {
+        bookingResponse.setItem(new ItemShort(1L, "Дрель \"Макита\", 20V"));
+        doAnswer(invocation -> {
+            Consumer<BookingResponse> action = invocation.getArgument(2);
+            action.accept(bookingResponse);
+            return null;
+        }).when(bookingService).exportByBookerIdAndState(eq(1L), eq("PAST"), any());
+
+        mvc.perform(get("/bookings/export")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("state", "PAST")
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(LineFormat.CSV_VALUE))
+                .andExpect(content().string(BookingExportWriter.CSV_HEADER + "\n"
+                        + "1," + DATE_TIME_FORMATTER.format(bookingResponse.getStart()) + ","
+                        + DATE_TIME_FORMATTER.format(bookingResponse.getEnd()) + ",APPROVED,1,1,"
+                        + "\"Дрель \"\"Макита\"\", 20V\"\n"));
+    }
+
+    @Test
+    void givenNoBookings_whenExportAsCsv_thenWriteOnlyHeader() throws Exception {
+        mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BookingExportWriter.CSV_HEADER + "\n"));
+    }
+
+    @Test
+    void givenNonExistentOwner_whenExport_thenReturnNotFound() throws Exception {
+        doThrow(new UserNotFoundException("Пользователь с id 99 не найден."))
+                .when(bookingService).exportByItemOwnerIdAndState(eq(99L), eq("ALL"), any());
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.description").value("Пользователь с id 99 не найден."));
+    }
+
+    @Test
+    void givenUnknownFormat_whenExport_thenReturnBadRequest() throws Exception {
+        mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("format", "XML"))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, never()).exportByItemOwnerIdAndState(anyLong(), anyString(), any());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.exception.StatusAlreadyChangedException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs without a test transaction: bookings are scheduled only once their transaction commits.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingExpiryTest {
+    private final BookingExpiry bookingExpiry;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerId = userService.save(new CreateUserRequest().setName("Игорь").setEmail("igor@mail.ru")).getId();
+        bookerId = userService.save(new CreateUserRequest().setName("Павел").setEmail("pavel@mail.ru")).getId();
+        itemId = itemService.saveItem(ownerId, new CreateItemRequest("Дрель", "Ударная 20V", true, null)).getId();
+    }
+
+    @Test
+    void expireDue_whenWaitingBookingStarted_thenExpiredAndSlotFreed() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2).withNano(0);
+        long bookingId = bookingService.save(bookerId, new CreateBookingRequest(itemId, start,
+                start.plusDays(1))).getId();
+        assertThat(bookingService.countByItemOwnerIdAndState(ownerId, "WAITING"), equalTo(1L));
+
+        awaitStatus(bookingId, Status.EXPIRED);
+
+        assertThat(jdbcTemplate.queryForObject("select version from bookings where id = ?", Long.class, bookingId),
+                equalTo(1L));
+        assertThat(bookingService.countByItemOwnerIdAndState(ownerId, "WAITING"), equalTo(0L));
+        assertThat(bookingService.findByItemOwnerIdAndState(ownerId, "EXPIRED", 0L, 10).stream()
+                .map(BookingResponse::getId)
+                .collect(Collectors.toList()), equalTo(List.of(bookingId)));
+        assertThrows(StatusAlreadyChangedException.class, () -> bookingService.update(bookingId, ownerId, true));
+        LocalDateTime later = start.plusHours(1);
+        bookingService.save(bookerId, new CreateBookingRequest(itemId, later, later.plusHours(1)));
+    }
+
+    @Test
+    void expireDue_whenBookingApprovedBeforeStart_thenNotExpired() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2).withNano(0);
+        long bookingId = bookingService.save(bookerId, new CreateBookingRequest(itemId, start,
+                start.plusDays(1))).getId();
+        bookingService.update(bookingId, ownerId, true);
+
+        Thread.sleep(2_500);
+        bookingExpiry.expireDue();
+
+        assertThat(status(bookingId), equalTo(Status.APPROVED.name()));
+    }
+
+    @Test
+    void warmUp_whenWaitingBookingStartedWhileDown_thenExpiredOnFirstTick() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().minusDays(1).withNano(0);
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, status, booker_id, item_id) " +
+                        "values (?, ?, ?, ?, ?, ?)", 1_000L, Timestamp.valueOf(start),
+                Timestamp.valueOf(start.plusDays(2)), Status.WAITING.name(), bookerId, itemId);
+
+        bookingExpiry.warmUp();
+
+        awaitStatus(1_000L, Status.EXPIRED);
+    }
+
+    private void awaitStatus(long bookingId, Status expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && !expected.name().equals(status(bookingId)); attempt++) {
+            Thread.sleep(100);
+            bookingExpiry.expireDue();
+        }
+        assertThat(status(bookingId), equalTo(expected.name()));
+    }
+
+    private String status(long bookingId) {
+        return jdbcTemplate.queryForObject("select status from bookings where id = ?", String.class, bookingId);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private static final long ITEM_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(
+                        new BookingInterval(1L, ITEM_ID, BASE.plusHours(2), BASE.plusHours(4)),
+                        new BookingInterval(2L, ITEM_ID, BASE.plusHours(6), BASE.plusHours(8))));
+        bookingIntervalIndex.warmUp();
+    }
+
+    @Test
+    void givenIntervalInsideOrAroundExistingBooking_whenOverlaps_thenReturnTrue() {
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(3), BASE.plusHours(5)));
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(1), BASE.plusHours(3)));
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(7), BASE.plusHours(7).plusMinutes(1)));
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, BASE, BASE.plusHours(10)));
+    }
+
+    @Test
+    void givenIntervalBetweenOrTouchingExistingBookings_whenOverlaps_thenReturnFalse() {
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(4), BASE.plusHours(6)));
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, BASE, BASE.plusHours(2)));
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(8), BASE.plusHours(9)));
+        assertFalse(bookingIntervalIndex.overlaps(2L, BASE.plusHours(3), BASE.plusHours(5)));
+    }
+
+    @Test
+    void givenExcludedBooking_whenOverlaps_thenIgnoreIt() {
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(2), BASE.plusHours(4), 1L));
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(6), BASE.plusHours(8), 1L));
+    }
+
+    @Test
+    void givenAddedAndRemovedBookings_whenOverlaps_thenReflectChanges() {
+        Item item = new Item().setId(ITEM_ID);
+        Booking added = new Booking().setId(3L).setItem(item).setStart(BASE.plusHours(10)).setEnd(BASE.plusHours(12));
+        Booking removed = new Booking().setId(1L).setItem(item).setStart(BASE.plusHours(2)).setEnd(BASE.plusHours(4));
+
+        bookingIntervalIndex.add(added);
+        bookingIntervalIndex.remove(removed);
+
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(11), BASE.plusHours(13)));
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, BASE.plusHours(2), BASE.plusHours(4)));
+    }
+}
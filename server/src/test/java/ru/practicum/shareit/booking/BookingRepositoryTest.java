@@ -5,14 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.entity.Status;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,31 +61,40 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findLastBooking() {
-
-        Booking lastBookingReturned = bookingRepository.findLastBooking(item.getId(), Status.APPROVED, LocalDateTime.now(),
-                PageRequest.of(0, 1)).toList().get(0);
+    void findLastBookings() {
+        ItemBookingShort lastBookingReturned = bookingRepository.findLastBookings(List.of(item.getId()), Status.APPROVED,
+                LocalDateTime.now()).get(0);
 
         assertNotNull(lastBookingReturned);
         assertEquals(1, lastBookingReturned.getId());
         assertTrue(lastBookingReturned.getStart().isBefore(now));
-        assertTrue(lastBookingReturned.getEnd().isBefore(now));
-        assertEquals(lastBookingReturned.getStatus(), Status.APPROVED);
-        assertNotNull(lastBookingReturned.getBooker());
-        assertNotNull(lastBookingReturned.getItem());
+        assertEquals(booker.getId(), lastBookingReturned.getBookerId());
+        assertEquals(item.getId(), lastBookingReturned.getItemId());
     }
 
     @Test
-    void findNextBooking() {
-        Booking nextBookingReturned = bookingRepository.findNextBooking(item.getId(), Status.APPROVED, LocalDateTime.now(),
-                PageRequest.of(0, 1)).toList().get(0);
+    void findNextBookings() {
+        ItemBookingShort nextBookingReturned = bookingRepository.findNextBookings(List.of(item.getId()), Status.APPROVED,
+                LocalDateTime.now()).get(0);
 
         assertNotNull(nextBookingReturned);
         assertEquals(2, nextBookingReturned.getId());
         assertTrue(nextBookingReturned.getStart().isAfter(now));
-        assertTrue(nextBookingReturned.getEnd().isAfter(now));
-        assertEquals(nextBookingReturned.getStatus(), Status.APPROVED);
-        assertNotNull(nextBookingReturned.getBooker());
-        assertNotNull(nextBookingReturned.getItem());
+        assertEquals(booker.getId(), nextBookingReturned.getBookerId());
+        assertEquals(item.getId(), nextBookingReturned.getItemId());
+    }
+
+    @Test
+    void existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot() {
+        List<Status> statuses = List.of(Status.WAITING, Status.APPROVED);
+
+        assertTrue(bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(item.getId(),
+                statuses, now.plusHours(3), now.plusHours(2), 0L));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(item.getId(),
+                statuses, now.plusHours(3), now.plusHours(2), nextBooking.getId()));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(item.getId(),
+                List.of(Status.WAITING), now.plusHours(3), now.plusHours(2), 0L));
+        assertFalse(bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(item.getId(),
+                statuses, now.plusDays(3), now.plusDays(2), 0L));
     }
-}
\ No newline at end of file
+}
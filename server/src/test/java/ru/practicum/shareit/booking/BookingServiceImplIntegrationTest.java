@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,17 +12,23 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.entity.Status;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -59,8 +67,8 @@ class BookingServiceImplIntegrationTest {
                 null);
 
         createBookingRequest = new CreateBookingRequest(1L,
-                LocalDateTime.now().plusDays(1),
-                LocalDateTime.now().plusDays(2));
+                LocalDateTime.now().plusDays(1).withNano(0),
+                LocalDateTime.now().plusDays(2).withNano(0));
     }
 
     @Test
@@ -170,6 +178,58 @@ class BookingServiceImplIntegrationTest {
         assertThat(bookingResponses.get(0).getItem().getId(), equalTo(1L));
     }
 
+    @Test
+    void findByBookerIdAndState_whenFromBeyondIntRange_thenReturnEmptyList() {
+        long ownerId = 1L;
+        Long bookerId = 2L;
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(ownerId, createItemRequest);
+        bookingService.save(bookerId, createBookingRequest);
+
+        assertThat(bookingService.findByBookerIdAndState(bookerId, "ALL", Integer.MAX_VALUE + 1L, 20).size(),
+                equalTo(0));
+    }
+
+    @Test
+    void findByBookerIdAndState_whenWalkingCursorPages_thenReturnSameOrderAsOffsetPagination() {
+        long ownerId = 1L;
+        Long bookerId = 2L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(ownerId, createItemRequest);
+        itemService.saveItem(ownerId, createItemRequest);
+        for (int day = 0; day < 3; day++) {
+            for (long itemId = 1; itemId <= 2; itemId++) {
+                bookingService.save(bookerId, new CreateBookingRequest(itemId,
+                        start.plusDays(day), start.plusDays(day).plusHours(1)));
+            }
+        }
+
+        List<Long> expectedIds = bookingService.findByBookerIdAndState(bookerId, "ALL", 0L, 20).stream()
+                .map(BookingResponse::getId).collect(Collectors.toList());
+        List<Long> walkedIds = new ArrayList<>();
+        KeysetCursor cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<BookingResponse> page = bookingService.findByBookerIdAndState(bookerId, "ALL", cursor, 4);
+            page.getContent().forEach(bookingResponse -> walkedIds.add(bookingResponse.getId()));
+            cursor = KeysetCursor.decodeWithPosition(page.getNextCursor());
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages, equalTo(2));
+        assertThat(walkedIds, equalTo(List.of(6L, 5L, 4L, 3L, 2L, 1L)));
+        assertThat(expectedIds.size(), equalTo(6));
+        assertThat(bookingService.findByItemOwnerIdAndState(ownerId, "FUTURE", (KeysetCursor) null, 20).getContent().size(),
+                equalTo(6));
+        assertThat(bookingService.findByItemOwnerIdAndState(ownerId, "PAST", (KeysetCursor) null, 20).getContent().size(),
+                equalTo(0));
+    }
+
     @Test
     void findByItemOwnerIdAndState() {
         Long ownerId = 1L;
@@ -193,6 +253,133 @@ class BookingServiceImplIntegrationTest {
         assertThat(bookingResponses.get(0).getItem().getId(), equalTo(1L));
     }
 
+    @Test
+    void findByItemOwnerIdAndState_whenStateApproved_thenReturnOnlyApprovedBookings() {
+        Long ownerId = 1L;
+        Long bookerId = 2L;
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(ownerId, createItemRequest);
+        bookingService.save(bookerId, createBookingRequest);
+        bookingService.save(bookerId, new CreateBookingRequest(1L, createBookingRequest.getEnd().plusDays(1),
+                createBookingRequest.getEnd().plusDays(2)));
+        bookingService.update(2L, ownerId, true);
+
+        List<BookingResponse> bookingResponses =
+                bookingService.findByItemOwnerIdAndState(ownerId, "APPROVED", 0L, 20);
+
+        assertThat(bookingResponses.size(), equalTo(1));
+        assertThat(bookingResponses.get(0).getId(), equalTo(2L));
+        assertThat(bookingService.findByBookerIdAndState(bookerId, "CANCELED", 0L, 20).size(), equalTo(0));
+    }
+
+    @Test
+    void saveAll() {
+        long ownerId = 1L;
+        Long bookerId = 2L;
+        LocalDateTime start = createBookingRequest.getStart();
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(ownerId, createItemRequest);
+        itemService.saveItem(ownerId, createItemRequest);
+        List<CreateBookingRequest> requests = List.of(
+                new CreateBookingRequest(1L, start, start.plusHours(1)),
+                new CreateBookingRequest(2L, start, start.plusHours(1)),
+                new CreateBookingRequest(1L, start.plusMinutes(30), start.plusHours(2)),
+                new CreateBookingRequest(1L, start.plusHours(1), start.plusHours(2)));
+
+        List<CreateBookingResult> results = bookingService.saveAll(bookerId, requests);
+
+        assertThat(results.stream().map(CreateBookingResult::getError).collect(Collectors.toList()),
+                equalTo(Arrays.asList(null, null, "Предмет уже забронирован на это время.", null)));
+        assertThat(results.get(0).getBooking().getId(), equalTo(1L));
+        assertThat(results.get(1).getBooking().getId(), equalTo(2L));
+        assertThat(results.get(3).getBooking().getId(), equalTo(3L));
+        assertThat(bookingService.findByBookerIdAndState(bookerId, "ALL", 0L, 20).size(), equalTo(3));
+    }
+
+    @Test
+    void exportByItemOwnerIdAndState_whenMoreBookingsThanFetchSize_thenExportAllInOrder() {
+        long ownerId = 1L;
+        Long bookerId = 2L;
+        LocalDateTime start = createBookingRequest.getStart();
+        int count = BookingRepositoryCustomImpl.FETCH_SIZE + 100;
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(ownerId, createItemRequest);
+        List<CreateBookingRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            requests.add(new CreateBookingRequest(1L, start.plusHours(i), start.plusHours(i).plusMinutes(30)));
+        bookingService.saveAll(bookerId, requests);
+
+        List<Long> exported = new ArrayList<>();
+        bookingService.exportByItemOwnerIdAndState(ownerId, "FUTURE", booking -> exported.add(booking.getId()));
+
+        assertThat(exported.size(), equalTo(count));
+        assertThat(exported.get(0), equalTo((long) count));
+        assertThat(exported.get(count - 1), equalTo(1L));
+    }
+
+    @Test
+    void findByRoleAndState_whenBookingsOfSeveralItemsAndBookers_thenOneStatementPerPage() {
+        long ownerId = 1L;
+        long bookerId = 2L;
+        LocalDateTime now = LocalDateTime.now();
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        long bookerId2 = userService.save(new CreateUserRequest().setName("Гоша").setEmail("gosha@mail.ru")).getId();
+        itemService.saveItem(ownerId, createItemRequest);
+        itemService.saveItem(ownerId, createItemRequest);
+        bookingService.save(bookerId, new CreateBookingRequest(1L, now.minusDays(3), now.minusDays(2)));
+        bookingService.save(bookerId2, new CreateBookingRequest(2L, now.minusDays(1), now.plusDays(1)));
+        bookingService.save(bookerId, new CreateBookingRequest(2L, now.plusDays(2), now.plusDays(3)));
+        bookingService.save(bookerId2, new CreateBookingRequest(1L, now.plusDays(4), now.plusDays(5)));
+        bookingService.update(1L, ownerId, true);
+        bookingService.update(2L, ownerId, true);
+        bookingService.update(3L, ownerId, false);
+        userService.checkExists(ownerId);
+        userService.checkExists(bookerId);
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        for (BookingState state : BookingState.values()) {
+            statistics.clear();
+            bookingService.findByItemOwnerIdAndState(ownerId, state.name(), 0L, 100);
+            assertThat("owner " + state, statistics.getPrepareStatementCount(), equalTo(1L));
+
+            statistics.clear();
+            bookingService.findByBookerIdAndState(bookerId, state.name(), 0L, 100);
+            assertThat("booker " + state, statistics.getPrepareStatementCount(), equalTo(1L));
+
+            statistics.clear();
+            bookingService.findByItemOwnerIdAndState(ownerId, state.name(), (KeysetCursor) null, 100);
+            assertThat("owner keyset " + state, statistics.getPrepareStatementCount(), equalTo(1L));
+        }
+        assertThat(bookingService.findByItemOwnerIdAndState(ownerId, "ALL", 0L, 100).stream()
+                .map(booking -> booking.getItem().getName())
+                .collect(Collectors.toList()), equalTo(List.of("Дрель", "Дрель", "Дрель", "Дрель")));
+    }
+
+    @Test
+    void countByItemOwnerIdAndState_whenBookingApproved_thenTotalsRecounted() {
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(1L, createItemRequest);
+        bookingService.save(2L, createBookingRequest);
+
+        assertThat(bookingService.countByItemOwnerIdAndState(1L, "WAITING"), equalTo(1L));
+        assertThat(bookingService.countByBookerIdAndState(2L, "FUTURE"), equalTo(1L));
+
+        bookingService.update(1L, 1L, true);
+        assertThat(bookingService.countByItemOwnerIdAndState(1L, "WAITING"), equalTo(0L));
+        assertThat(bookingService.countByItemOwnerIdAndState(1L, "ALL"), equalTo(1L));
+    }
+
     @Test
     void findById() {
         long ownerId = 1L;
@@ -1,16 +1,21 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.dto.CreateBookingResult;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.entity.Status;
 import ru.practicum.shareit.exception.*;
@@ -19,20 +24,31 @@ import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplUnitTest {
+    private static final Sort SORT_ASC = Sort.by(Sort.Direction.ASC, "start", "id");
+    private static final Sort SORT_DESC = Sort.by(Sort.Direction.DESC, "start", "id");
 
     private static BookingService bookingService;
     private static BookingService bookingServiceSpy;
@@ -57,12 +73,30 @@ class BookingServiceImplUnitTest {
     @Mock
     ItemService itemService;
 
+    @Mock
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    ItemBookingSummaries itemBookingSummaries;
+
+    @Mock
+    ItemLockManager itemLockManager;
+
+    @Mock
+    BookingExpiry bookingExpiry;
+
     @BeforeEach
     void beforeEach() {
-        bookingService = new BookingServiceImpl(bookingRepository, userService, itemService);
+        bookingService = new BookingServiceImpl(bookingRepository, userService, itemService,
+                bookingIntervalIndex, new BookingCountCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                itemBookingSummaries, itemLockManager, bookingExpiry);
         bookingServiceSpy = spy(bookingService);
     }
 
+    private static Specification<Booking> anySpecification() {
+        return any();
+    }
+
     @BeforeAll
     static void beforeAll() {
         user = new User()
@@ -112,11 +146,11 @@ class BookingServiceImplUnitTest {
 
     @Test
     void givenCorrectBookerIdAndBookingDto_whenCreateBooking_thenReturnAnotherBookingDto() {
-        when(itemService.findById(anyLong()))
+        when(itemService.findByIdBypassingCache(anyLong()))
                 .thenReturn(item);
         when(userService.findById(anyLong()))
                 .thenReturn(user2);
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
         BookingResponse newBookingResponse = bookingService.save(user2.getId(), createBookingRequest);
 
@@ -127,48 +161,112 @@ class BookingServiceImplUnitTest {
         assertThat(newBookingResponse.getBooker().getId(), equalTo(booking.getBooker().getId()));
         assertThat(newBookingResponse.getItem().getId(), equalTo(booking.getItem().getId()));
         assertThat(newBookingResponse.getItem().getName(), equalTo(booking.getItem().getName()));
-        verify(itemService, times(1)).findById(anyLong());
+        verify(itemService, times(1)).findByIdBypassingCache(anyLong());
         verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
-        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verify(bookingIntervalIndex, times(1)).overlaps(item.getId(), start, end);
+        verify(bookingIntervalIndex, times(1)).add(booking);
+        verifyNoMoreInteractions(itemService, userService, bookingRepository, bookingIntervalIndex);
+    }
+
+    @Test
+    void givenBookingDto_whenCreateBooking_thenReadItemUnderLock() {
+        when(itemService.findByIdBypassingCache(anyLong()))
+                .thenReturn(item);
+        when(userService.findById(anyLong()))
+                .thenReturn(user2);
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenReturn(booking);
+
+        bookingService.save(user2.getId(), createBookingRequest);
+
+        InOrder inOrder = inOrder(itemLockManager, itemService, bookingIntervalIndex);
+        inOrder.verify(itemLockManager).lock(item.getId());
+        inOrder.verify(itemService).findByIdBypassingCache(item.getId());
+        inOrder.verify(bookingIntervalIndex).overlaps(item.getId(), start, end);
+    }
+
+    @Test
+    void givenBookingDtoOverlappingAnotherBooking_whenCreateBooking_thenThrowException() {
+        when(itemService.findByIdBypassingCache(anyLong()))
+                .thenReturn(item);
+        when(userService.findById(anyLong()))
+                .thenReturn(user2);
+        when(bookingIntervalIndex.overlaps(item.getId(), start, end))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.save(user2.getId(), createBookingRequest));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+        verify(bookingIntervalIndex, never()).add(any(Booking.class));
+    }
+
+    @Test
+    void givenLocksSharedAcrossNodesAndOverlapInDatabase_whenCreateBooking_thenThrowWithoutIndex() {
+        when(itemService.findByIdBypassingCache(anyLong()))
+                .thenReturn(item);
+        when(userService.findById(anyLong()))
+                .thenReturn(user2);
+        when(itemLockManager.sharedAcrossNodes())
+                .thenReturn(true);
+        when(bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfterAndIdNot(item.getId(),
+                BookingIntervalIndex.BLOCKING_STATUSES, end, start, 0L))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.save(user2.getId(), createBookingRequest));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+        verifyNoInteractions(bookingIntervalIndex);
+    }
+
+    @Test
+    void givenExclusionConstraintViolation_whenCreateBooking_thenThrowException() {
+        when(itemService.findByIdBypassingCache(anyLong()))
+                .thenReturn(item);
+        when(userService.findById(anyLong()))
+                .thenReturn(user2);
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"")));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.save(user2.getId(), createBookingRequest));
+        verify(bookingIntervalIndex, never()).add(any(Booking.class));
     }
 
     @Test
     void givenNonExistentBookerId_whenCreateBooking_thenThrowException() {
-        when(itemService.findById(anyLong()))
+        when(itemService.findByIdBypassingCache(anyLong()))
                 .thenReturn(item);
         when(userService.findById(anyLong()))
                 .thenThrow(NotFoundException.class);
-        lenient().when(bookingRepository.save(any(Booking.class)))
+        lenient().when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
 
         assertThrows(NotFoundException.class, () -> bookingService.save(99L, createBookingRequest));
-        verify(itemService, times(1)).findById(anyLong());
+        verify(itemService, times(1)).findByIdBypassingCache(anyLong());
         verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenBookingDtoWithNonExistentItemId_whenCreateBooking_thenThrowException() {
-        when(itemService.findById(anyLong()))
+        when(itemService.findByIdBypassingCache(anyLong()))
                 .thenThrow(NotFoundException.class);
         lenient().when(userService.findById(anyLong()))
                 .thenReturn(user2);
-        lenient().when(bookingRepository.save(any(Booking.class)))
+        lenient().when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
 
         assertThrows(NotFoundException.class, () -> bookingService.save(user2.getId(),
                 new CreateBookingRequest(99L, start, end)));
-        verify(itemService, times(1)).findById(anyLong());
+        verify(itemService, times(1)).findByIdBypassingCache(anyLong());
         verify(userService, times(0)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenBookingDtoOwnerIdEqualBookerId_whenCreateBooking_thenThrowException() {
-        when(itemService.findById(anyLong()))
+        when(itemService.findByIdBypassingCache(anyLong()))
                 .thenReturn(new Item()
                         .setId(2L)
                         .setName(itemName)
@@ -177,20 +275,20 @@ class BookingServiceImplUnitTest {
                         .setOwner(user2));
         when(userService.findById(anyLong()))
                 .thenReturn(user2);
-        lenient().when(bookingRepository.save(any(Booking.class)))
+        lenient().when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
 
         assertThrows(WrongUserIdException.class, () -> bookingService.save(user2.getId(),
                 new CreateBookingRequest(2L, start, end)));
-        verify(itemService, times(1)).findById(anyLong());
+        verify(itemService, times(1)).findByIdBypassingCache(anyLong());
         verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenBookingDtoWithNotAvailable_whenCreateBooking_thenThrowException() {
-        when(itemService.findById(anyLong()))
+        when(itemService.findByIdBypassingCache(anyLong()))
                 .thenReturn(new Item()
                         .setId(2L)
                         .setName(itemName)
@@ -199,16 +297,79 @@ class BookingServiceImplUnitTest {
                         .setOwner(user));
         when(userService.findById(anyLong()))
                 .thenReturn(user2);
-        lenient().when(bookingRepository.save(any(Booking.class)))
+        lenient().when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
 
         assertThrows(ItemNotAvailableException.class, () -> bookingService.save(user2.getId(), createBookingRequest));
-        verify(itemService, times(1)).findById(anyLong());
+        verify(itemService, times(1)).findByIdBypassingCache(anyLong());
         verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
+    @Test
+    void givenValidAndInvalidBookingDtos_whenSaveAll_thenSaveValidAndReportInvalid() {
+        Item unavailableItem = new Item()
+                .setId(2L)
+                .setName(itemName)
+                .setDescription(itemDescription)
+                .setAvailable(false)
+                .setOwner(user);
+        List<CreateBookingRequest> requests = List.of(
+                createBookingRequest,
+                new CreateBookingRequest(2L, start, end),
+                new CreateBookingRequest(99L, start, end),
+                new CreateBookingRequest(item.getId(), start.plusDays(1), end.plusDays(1)));
+        when(userService.findById(anyLong()))
+                .thenReturn(user2);
+        when(itemService.findAllByIdBypassingCache(Set.of(1L, 2L, 99L)))
+                .thenReturn(List.of(item, unavailableItem));
+
+        List<CreateBookingResult> results = bookingService.saveAll(user2.getId(), requests);
+
+        assertThat(results.size(), equalTo(4));
+        assertThat(results.get(0).getError(), nullValue());
+        assertThat(results.get(0).getBooking().getItem().getId(), equalTo(item.getId()));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(Status.WAITING));
+        assertThat(results.get(1).getError(), equalTo("Предмет не доступен для бронирования."));
+        assertThat(results.get(2).getError(), equalTo("Предмет с id 99 не найден."));
+        assertThat(results.get(3).getError(), equalTo("Предмет уже забронирован на это время."));
+        assertThat(results.get(3).getBooking(), nullValue());
+        verify(userService, times(1)).findById(anyLong());
+        verify(itemService, times(1)).findAllByIdBypassingCache(anyCollection());
+        verify(bookingIntervalIndex, times(2)).overlaps(anyLong(), any(LocalDateTime.class),
+                any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).saveAll(argThat(bookings -> ((Collection<?>) bookings).size() == 1));
+        verify(bookingRepository, times(1)).flush();
+        verify(bookingIntervalIndex, times(1)).add(any(Booking.class));
+        verifyNoMoreInteractions(itemService, userService, bookingRepository, bookingIntervalIndex);
+    }
+
+    @Test
+    void givenExclusionConstraintViolation_whenSaveAll_thenThrowException() {
+        when(userService.findById(anyLong()))
+                .thenReturn(user2);
+        when(itemService.findAllByIdBypassingCache(anyCollection()))
+                .thenReturn(List.of(item));
+        doThrow(new DataIntegrityViolationException("could not execute batch",
+                new RuntimeException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"")))
+                .when(bookingRepository).flush();
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.saveAll(user2.getId(),
+                List.of(createBookingRequest)));
+        verify(bookingIntervalIndex, never()).add(any(Booking.class));
+    }
+
+    @Test
+    void givenNonExistentBookerId_whenSaveAll_thenThrowException() {
+        when(userService.findById(anyLong()))
+                .thenThrow(UserNotFoundException.class);
+
+        assertThrows(UserNotFoundException.class, () -> bookingService.saveAll(99L, List.of(createBookingRequest)));
+        verify(userService, times(1)).findById(anyLong());
+        verifyNoMoreInteractions(itemService, userService, bookingRepository, bookingIntervalIndex);
+    }
+
     @Test
     void givenCorrectBookingIdAndOwnerIdAndApproved_whenUpdateBookingStatus_thenReturnUpdatedBookingDto() {
         doReturn(booking).when(bookingServiceSpy).findById(anyLong());
@@ -233,8 +394,56 @@ class BookingServiceImplUnitTest {
         verifyNoInteractions(itemService, userService);
         verify(bookingServiceSpy, times(1)).findById(anyLong());
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).flush();
         verify(bookingServiceSpy, times(1)).update(anyLong(), anyLong(), anyBoolean());
-        verifyNoMoreInteractions(bookingServiceSpy, bookingRepository);
+        verify(bookingIntervalIndex, times(1)).overlaps(item.getId(), start, end, bookingId);
+        verify(itemBookingSummaries, times(1)).approve(any(Booking.class));
+        verifyNoMoreInteractions(bookingServiceSpy, bookingRepository, bookingIntervalIndex, itemBookingSummaries);
+    }
+
+    @Test
+    void givenApprovedBookingOverlappingAnotherBooking_whenUpdateBookingStatus_thenThrowException() {
+        doReturn(new Booking()
+                .setId(booking.getId())
+                .setStart(booking.getStart())
+                .setEnd(booking.getEnd())
+                .setStatus(Status.WAITING)
+                .setBooker(booking.getBooker())
+                .setItem(booking.getItem()))
+                .when(bookingServiceSpy).findById(anyLong());
+        when(bookingIntervalIndex.overlaps(item.getId(), start, end, bookingId))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingServiceSpy.update(bookingId,
+                booking.getItem().getOwner().getId(), true));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void givenRejected_whenUpdateBookingStatus_thenRemoveBookingFromIndex() {
+        Booking rejectedBooking = new Booking()
+                .setId(booking.getId())
+                .setStart(booking.getStart())
+                .setEnd(booking.getEnd())
+                .setStatus(Status.REJECTED)
+                .setBooker(booking.getBooker())
+                .setItem(booking.getItem());
+        doReturn(new Booking()
+                .setId(booking.getId())
+                .setStart(booking.getStart())
+                .setEnd(booking.getEnd())
+                .setStatus(Status.WAITING)
+                .setBooker(booking.getBooker())
+                .setItem(booking.getItem()))
+                .when(bookingServiceSpy).findById(anyLong());
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(rejectedBooking);
+
+        BookingResponse bookingResponse = bookingServiceSpy.update(bookingId, booking.getItem().getOwner().getId(),
+                false);
+        assertThat(bookingResponse.getStatus(), equalTo(Status.REJECTED));
+        verify(bookingIntervalIndex, times(1)).remove(rejectedBooking);
+        verifyNoMoreInteractions(bookingIntervalIndex);
     }
 
     @Test
@@ -370,12 +579,10 @@ class BookingServiceImplUnitTest {
     @Test
     void givenCorrectBookerIdAndStateAll_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
         String state = "All";
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking));
+        List<BookingResponse> bookings = List.of(BookingMapper.toBookingResponse(booking));
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService.findByBookerIdAndState(booking.getBooker().getId(),
                 state, 0L, 20);
@@ -387,21 +594,140 @@ class BookingServiceImplUnitTest {
         assertThat(newBookingResponse.get(0).getBooker().getId(), equalTo(booking.getBooker().getId()));
         assertThat(newBookingResponse.get(0).getItem().getId(), equalTo(booking.getItem().getId()));
         assertThat(newBookingResponse.get(0).getItem().getName(), equalTo(booking.getItem().getName()));
-        verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByBookerIdOrderByStartDesc(anyLong(), any(Pageable.class));
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(bookingRepository, times(1)).findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
+        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+    }
+
+    @Test
+    void givenOwnerBookings_whenExportByItemOwnerIdAndState_thenPassEachMappedBookingAndCloseStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookingRepository.stream(anySpecification(), eq(SORT_DESC)))
+                .thenReturn(Stream.of(booking).onClose(() -> closed.set(true)));
+        List<BookingResponse> exported = new ArrayList<>();
+
+        bookingService.exportByItemOwnerIdAndState(booking.getItem().getOwner().getId(), "ALL", exported::add);
+        assertThat(exported.size(), equalTo(1));
+        assertThat(exported.get(0).getId(), equalTo(booking.getId()));
+        assertThat(exported.get(0).getItem().getName(), equalTo(booking.getItem().getName()));
+        assertThat(closed.get(), equalTo(true));
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(bookingRepository, times(1)).stream(anySpecification(), eq(SORT_DESC));
+        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+    }
+
+    @Test
+    void givenUnknownState_whenExportByBookerIdAndState_thenThrowExceptionBeforeQuery() {
+        assertThrows(UnknownStateException.class, () -> bookingService.exportByBookerIdAndState(
+                booking.getBooker().getId(), "someday", exported -> { }));
+        verify(userService, times(1)).checkExists(anyLong());
+        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+    }
+
+    @Test
+    void givenCountedState_whenCountByBookerIdAndStateAgain_thenServeTotalFromCache() {
+        when(bookingRepository.count(anySpecification()))
+                .thenReturn(3L);
+
+        assertThat(bookingService.countByBookerIdAndState(user2.getId(), "ALL"), equalTo(3L));
+        assertThat(bookingService.countByBookerIdAndState(user2.getId(), "ALL"), equalTo(3L));
+        verify(userService, times(2)).checkExists(anyLong());
+        verify(bookingRepository, times(1)).count(anySpecification());
+        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+    }
+
+    @Test
+    void givenCountedState_whenBookingUpdated_thenCountOwnerTotalAgain() {
+        Booking waitingBooking = new Booking()
+                .setId(booking.getId())
+                .setStart(booking.getStart())
+                .setEnd(booking.getEnd())
+                .setStatus(Status.WAITING)
+                .setBooker(booking.getBooker())
+                .setItem(booking.getItem());
+        doReturn(waitingBooking).when(bookingServiceSpy).findById(anyLong());
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(waitingBooking);
+        when(bookingRepository.count(anySpecification()))
+                .thenReturn(1L, 0L);
+
+        assertThat(bookingServiceSpy.countByItemOwnerIdAndState(user.getId(), "WAITING"), equalTo(1L));
+        bookingServiceSpy.update(bookingId, user.getId(), false);
+        assertThat(bookingServiceSpy.countByItemOwnerIdAndState(user.getId(), "WAITING"), equalTo(0L));
+        verify(bookingRepository, times(2)).count(anySpecification());
+    }
+
+    @Test
+    void givenTotalCountedAgainBeforeUpdateCommits_whenCommitted_thenCountOwnerTotalAgain() {
+        Booking waitingBooking = new Booking()
+                .setId(booking.getId())
+                .setStart(booking.getStart())
+                .setEnd(booking.getEnd())
+                .setStatus(Status.WAITING)
+                .setBooker(booking.getBooker())
+                .setItem(booking.getItem());
+        doReturn(waitingBooking).when(bookingServiceSpy).findById(anyLong());
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(waitingBooking);
+        when(bookingRepository.count(anySpecification()))
+                .thenReturn(1L, 0L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingServiceSpy.update(bookingId, user.getId(), false);
+            assertThat(bookingServiceSpy.countByItemOwnerIdAndState(user.getId(), "WAITING"), equalTo(1L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bookingServiceSpy.countByItemOwnerIdAndState(user.getId(), "WAITING"), equalTo(0L));
+        verify(bookingRepository, times(2)).count(anySpecification());
+    }
+
+    @Test
+    void givenCursorAndMoreRowsThanSize_whenFindByBookerIdAndState_thenReturnPageWithNextCursor() {
+        Booking olderBooking = new Booking()
+                .setId(booking.getId() + 1)
+                .setStart(booking.getStart().minusDays(3))
+                .setEnd(booking.getEnd().minusDays(3))
+                .setStatus(Status.WAITING)
+                .setBooker(booking.getBooker())
+                .setItem(booking.getItem());
+        KeysetCursor cursor = KeysetCursor.of(booking.getStart().plusDays(1), 100L);
+
+        when(bookingRepository.findResponses(anySpecification(), any(Sort.class), anyInt()))
+                .thenReturn(List.of(BookingMapper.toBookingResponse(booking),
+                        BookingMapper.toBookingResponse(olderBooking)));
+
+        KeysetPage<BookingResponse> page = bookingService.findByBookerIdAndState(booking.getBooker().getId(),
+                "ALL", cursor, 1);
+        assertThat(page.getContent().size(), equalTo(1));
+        assertThat(page.getContent().get(0).getId(), equalTo(booking.getId()));
+        assertThat(KeysetCursor.decodeWithPosition(page.getNextCursor()),
+                equalTo(KeysetCursor.of(booking.getStart(), booking.getId())));
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(bookingRepository, times(1)).findResponses(anySpecification(),
+                eq(Sort.by(Sort.Direction.DESC, "start", "id")), eq(2));
+        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+    }
+
+    @Test
+    void givenUnknownStateAndCursor_whenFindByItemOwnerIdAndState_thenThrowException() {
+
+        assertThrows(UnknownStateException.class, () -> bookingService.findByItemOwnerIdAndState(user.getId(),
+                "UNSUPPORTED", (KeysetCursor) null, 20));
+        verify(userService, times(1)).checkExists(anyLong());
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectBookerIdAndStateCurrent_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
         String state = "CURRENT";
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking));
+        List<BookingResponse> bookings = List.of(BookingMapper.toBookingResponse(booking));
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
-        when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStart(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_ASC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse =
                 bookingService.findByBookerIdAndState(booking.getBooker().getId(), state, 0L, 20);
@@ -413,133 +739,114 @@ class BookingServiceImplUnitTest {
         assertThat(newBookingResponse.get(0).getBooker().getId(), equalTo(booking.getBooker().getId()));
         assertThat(newBookingResponse.get(0).getItem().getId(), equalTo(booking.getItem().getId()));
         assertThat(newBookingResponse.get(0).getItem().getName(), equalTo(booking.getItem().getName()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStart(anyLong(),
-                        any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_ASC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectBookerIdAndStatePast_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
         String state = "PAST";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
-        when(bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(anyLong(), any(LocalDateTime.class),
-                any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse =
                 bookingService.findByBookerIdAndState(booking.getBooker().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndEndIsBeforeOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectBookerIdAndStateFuture_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
         String state = "FUTURE";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
-        when(bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(LocalDateTime.class),
-                any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse =
                 bookingService.findByBookerIdAndState(booking.getBooker().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectBookerIdAndStateWaiting_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
         String state = "WAITING";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(Status.class),
-                any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse =
                 bookingService.findByBookerIdAndState(booking.getBooker().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(Status.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectBookerIdAndStateRejected_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
         String state = "REJEcTED";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(Status.class),
-                any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse =
                 bookingService.findByBookerIdAndState(booking.getBooker().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(Status.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenNonExistentBookerId_whenFindByBookerIdAndState_thenThrowException() {
         String state = "REJECTED";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
-        when(userService.findById(anyLong()))
-                .thenThrow(NotFoundException.class);
-        lenient().when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(Status.class),
-                        any(Pageable.class)))
-                .thenReturn(bookingPage);
+        List<BookingResponse> bookings = Collections.emptyList();
+        doThrow(NotFoundException.class).when(userService).checkExists(anyLong());
+        lenient().when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.findByBookerIdAndState(99L, state, 0L, 20));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(0))
-                .findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(Status.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenUnsupportedState_whenFindByBookerIdAndState_thenThrowException() {
         String state = "ANY";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
-        when(userService.findById(anyLong()))
-                .thenReturn(user2);
+        List<BookingResponse> bookings = Collections.emptyList();
 
         assertThrows(UnknownStateException.class, () ->
                 bookingService.findByBookerIdAndState(booking.getBooker().getId(), state, 0L, 20));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectItemOwnerIdAndStateAll_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
         String state = "ALL";
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking));
+        List<BookingResponse> bookings = List.of(BookingMapper.toBookingResponse(booking));
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
-        when(bookingRepository.findByItemOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
@@ -551,21 +858,18 @@ class BookingServiceImplUnitTest {
         assertThat(newBookingResponse.get(0).getBooker().getId(), equalTo(booking.getBooker().getId()));
         assertThat(newBookingResponse.get(0).getItem().getId(), equalTo(booking.getItem().getId()));
         assertThat(newBookingResponse.get(0).getItem().getName(), equalTo(booking.getItem().getName()));
-        verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByItemOwnerId(anyLong(), any(Pageable.class));
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(bookingRepository, times(1)).findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectItemOwnerIdAndStateCurrent_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
         String state = "CURRENT";
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking));
+        List<BookingResponse> bookings = List.of(BookingMapper.toBookingResponse(booking));
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
-        when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
@@ -577,109 +881,114 @@ class BookingServiceImplUnitTest {
         assertThat(newBookingResponse.get(0).getBooker().getId(), equalTo(booking.getBooker().getId()));
         assertThat(newBookingResponse.get(0).getItem().getId(), equalTo(booking.getItem().getId()));
         assertThat(newBookingResponse.get(0).getItem().getName(), equalTo(booking.getItem().getName()));
-        verify(userService, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(bookingRepository, times(1)).findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectItemOwnerIdAndStatePast_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
         String state = "PAST";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
-        when(bookingRepository.findByItemOwnerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectItemOwnerIdAndStateFuture_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
         String state = "FUTURE";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
-        when(bookingRepository.findByItemOwnerIdAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectItemOwnerIdAndStateWaiting_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
         String state = "WAItING";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
-        when(bookingRepository.findByItemOwnerIdAndStatus(anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStatus(anyLong(), any(Status.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenCorrectItemOwnerIdAndStateRejected_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
         String state = "REJECTED";
-        Page<Booking> bookingPage = new PageImpl<>(Collections.emptyList());
+        List<BookingResponse> bookings = Collections.emptyList();
 
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
-        when(bookingRepository.findByItemOwnerIdAndStatus(anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(bookingPage);
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
 
         List<BookingResponse> newBookingResponse = bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
         assertThat(0, equalTo(newBookingResponse.size()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(bookingRepository, times(1))
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
+        verifyNoMoreInteractions(itemService, userService, bookingRepository);
+    }
+
+    @Test
+    void givenCorrectItemOwnerIdAndStateApproved_whenFindByItemOwnerIdAndState_thenReturnListOfBookingDto() {
+        String state = "approved";
+        List<BookingResponse> bookings = Collections.emptyList();
+
+        when(bookingRepository.findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20)))
+                .thenReturn(bookings);
+
+        List<BookingResponse> newBookingResponse = bookingService
+                .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20);
+        assertThat(0, equalTo(newBookingResponse.size()));
+        verify(userService, times(1)).checkExists(anyLong());
         verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStatus(anyLong(), any(Status.class), any(Pageable.class));
+                .findResponses(anySpecification(), eq(SORT_DESC), eq(0L), eq(20));
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenUnsupportedState_whenFindByItemOwnerIdAndState_thenThrowException() {
         String state = "SomE";
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
 
         assertThrows(UnknownStateException.class, () -> bookingService
                 .findByItemOwnerIdAndState(booking.getItem().getOwner().getId(), state, 0L, 20));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
     @Test
     void givenNonExistentOwnerId_whenFindByItemOwnerIdAndState_thenThrowException() {
         String state = "CURRENT";
-        when(userService.findById(anyLong()))
-                .thenThrow(NotFoundException.class);
+        doThrow(NotFoundException.class).when(userService).checkExists(anyLong());
 
         assertThrows(NotFoundException.class, () -> bookingService
                 .findByItemOwnerIdAndState(99L, state, 0L, 20));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verifyNoMoreInteractions(itemService, userService, bookingRepository);
     }
 
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingSummariesTest {
+    private static final long ITEM_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private ItemBookingSummaries itemBookingSummaries;
+
+    @Mock
+    ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        itemBookingSummaries = new ItemBookingSummaries(itemBookingSummaryRepository, bookingRepository);
+    }
+
+    @Test
+    void givenNoSummary_whenApproveFutureBooking_thenSaveItAsNextBooking() {
+        when(itemBookingSummaryRepository.findForUpdateByItemId(ITEM_ID))
+                .thenReturn(Optional.empty());
+
+        itemBookingSummaries.approve(booking(5L, NOW.plusDays(1)));
+        verify(itemBookingSummaryRepository, times(1)).save(argThat(summary -> summary.getItemId() == ITEM_ID
+                && summary.getNextBookingId() == 5L
+                && summary.getNextBookerId() == BOOKER_ID
+                && summary.getLastBookingId() == null));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void givenNextBooking_whenApproveLaterBooking_thenKeepNextBooking() {
+        ItemBookingSummary summary = summary(null, 3L, NOW.plusDays(1));
+        when(itemBookingSummaryRepository.findForUpdateByItemId(ITEM_ID))
+                .thenReturn(Optional.of(summary));
+
+        itemBookingSummaries.approve(booking(5L, NOW.plusDays(2)));
+        assertThat(summary.getNextBookingId(), equalTo(3L));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void givenStartedNextBooking_whenFindByItemIds_thenRecomputeWithoutWriting() {
+        when(itemBookingSummaryRepository.findAllById(List.of(ITEM_ID, 2L)))
+                .thenReturn(List.of(summary(null, 3L, NOW.minusMinutes(1)),
+                        new ItemBookingSummary().setItemId(2L).setLastBookingId(7L).setLastBookerId(BOOKER_ID)
+                                .setLastStart(NOW.minusDays(1))));
+        when(bookingRepository.findLastBookings(eq(List.of(ITEM_ID)), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(new ItemBookingShort(ITEM_ID, 3L, BOOKER_ID, NOW.minusMinutes(1))));
+        when(bookingRepository.findNextBookings(eq(List.of(ITEM_ID)), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaries.findByItemIds(List.of(ITEM_ID, 2L), NOW);
+        assertThat(summaries.get(ITEM_ID).getLastBookingId(), equalTo(3L));
+        assertThat(summaries.get(ITEM_ID).getNextBookingId(), nullValue());
+        assertThat(summaries.get(2L).getLastBookingId(), equalTo(7L));
+        verify(itemBookingSummaryRepository, times(1)).findAllById(anyCollection());
+        verifyNoMoreInteractions(itemBookingSummaryRepository);
+    }
+
+    @Test
+    void givenStartedNextBookings_whenRollForward_thenMoveNextToLastAndDropEmpty() {
+        ItemBookingSummary started = summary(null, 3L, NOW.minusMinutes(1));
+        ItemBookingSummary deleted = summary(null, null, NOW.minusMinutes(2)).setItemId(2L);
+        when(itemBookingSummaryRepository.findByNextStartLessThanEqualOrderByNextStart(any(LocalDateTime.class),
+                any(Pageable.class)))
+                .thenReturn(List.of(started, deleted));
+        when(bookingRepository.findLastBookings(anyCollection(), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(new ItemBookingShort(ITEM_ID, 3L, BOOKER_ID, NOW.minusMinutes(1))));
+        when(bookingRepository.findNextBookings(anyCollection(), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(new ItemBookingShort(ITEM_ID, 4L, BOOKER_ID, NOW.plusDays(1))));
+
+        itemBookingSummaries.rollForward();
+        assertThat(started.getLastBookingId(), equalTo(3L));
+        assertThat(started.getNextBookingId(), equalTo(4L));
+        assertThat(started.getNextStart(), equalTo(NOW.plusDays(1)));
+        verify(itemBookingSummaryRepository, times(1)).delete(deleted);
+        verify(itemBookingSummaryRepository, never()).findForUpdateByItemId(anyLong());
+    }
+
+    private static ItemBookingSummary summary(Long lastBookingId, Long nextBookingId, LocalDateTime nextStart) {
+        return new ItemBookingSummary()
+                .setItemId(ITEM_ID)
+                .setLastBookingId(lastBookingId)
+                .setNextBookingId(nextBookingId)
+                .setNextBookerId(nextBookingId == null ? null : BOOKER_ID)
+                .setNextStart(nextStart);
+    }
+
+    private static Booking booking(long id, LocalDateTime start) {
+        return new Booking()
+                .setId(id)
+                .setStart(start)
+                .setEnd(start.plusHours(1))
+                .setStatus(Status.APPROVED)
+                .setBooker(new User().setId(BOOKER_ID))
+                .setItem(new Item().setId(ITEM_ID));
+    }
+}
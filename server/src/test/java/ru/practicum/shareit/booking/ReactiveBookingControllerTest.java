@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.entity.Status;
+import ru.practicum.shareit.config.ReactiveConfig;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.user.dto.UserShort;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Constants.DATE_TIME_FORMATTER;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.shareit.util.Constants.TOTAL_COUNT_HEADER;
+import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
+
+@WebFluxTest(controllers = ReactiveBookingController.class)
+@Import(ReactiveConfig.class)
+class ReactiveBookingControllerTest {
+    @Autowired
+    private WebTestClient client;
+    @MockBean
+    BookingService bookingService;
+
+    private BookingResponse bookingResponse;
+
+    @BeforeEach
+    void beforeEach() {
+        bookingResponse = new BookingResponse(1L,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                Status.APPROVED,
+                new UserShort().setId(1L),
+                new ItemShort(1L, "Дрель"));
+    }
+
+    @Test
+    void givenCorrectBookerIdAndStateWithoutFromAndSize_whenFindByBookerIdAndState_thenReturnListOfBookingDto() {
+        when(bookingService.findByBookerIdAndState(anyLong(), anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of(bookingResponse, bookingResponse));
+
+        client.get().uri("/bookings?state=ALL")
+                .header(USER_ID_HEADER, "1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(bookingResponse.getId())
+                .jsonPath("$[0].start").isEqualTo(bookingResponse.getStart().format(DATE_TIME_FORMATTER))
+                .jsonPath("$[0].end").isEqualTo(bookingResponse.getEnd().format(DATE_TIME_FORMATTER))
+                .jsonPath("$[0].status").isEqualTo(bookingResponse.getStatus().toString())
+                .jsonPath("$[0].booker.id").isEqualTo(bookingResponse.getBooker().getId())
+                .jsonPath("$[0].item.id").isEqualTo(bookingResponse.getItem().getId())
+                .jsonPath("$[0].item.name").isEqualTo(bookingResponse.getItem().getName());
+        verify(bookingService).findByBookerIdAndState(1L, "ALL", 0L, 10);
+    }
+
+    @Test
+    void givenCursor_whenFindByBookerIdAndState_thenReturnPageAndNextCursorHeader() {
+        KeysetCursor cursor = KeysetCursor.of(bookingResponse.getStart(), bookingResponse.getId());
+        when(bookingService.findByBookerIdAndState(anyLong(), anyString(), any(KeysetCursor.class), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(bookingResponse), "next"));
+
+        client.get().uri(uri -> uri.path("/bookings")
+                        .queryParam("size", 1)
+                        .queryParam("cursor", cursor.encode())
+                        .build())
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(NEXT_CURSOR_HEADER, "next")
+                .expectHeader().doesNotExist(TOTAL_COUNT_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+        verify(bookingService).findByBookerIdAndState(1L, "ALL", cursor, 1);
+        verify(bookingService, never()).countByBookerIdAndState(anyLong(), anyString());
+    }
+
+    @Test
+    void givenEmptyCursor_whenFindByItemOwnerIdAndState_thenRequestFirstKeysetPage() {
+        when(bookingService.findByItemOwnerIdAndState(anyLong(), anyString(), ArgumentMatchers.<KeysetCursor>isNull(), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(bookingResponse), null));
+
+        client.get().uri("/bookings/owner?cursor=")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+        verify(bookingService).findByItemOwnerIdAndState(1L, "ALL", (KeysetCursor) null, 10);
+    }
+
+    @Test
+    void givenWithTotal_whenFindByItemOwnerIdAndState_thenReturnTotalCountHeader() {
+        when(bookingService.findByItemOwnerIdAndState(anyLong(), anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of(bookingResponse));
+        when(bookingService.countByItemOwnerIdAndState(anyLong(), anyString()))
+                .thenReturn(7L);
+
+        client.get().uri("/bookings/owner?state=PAST&withTotal=true")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(TOTAL_COUNT_HEADER, "7")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+        verify(bookingService).countByItemOwnerIdAndState(1L, "PAST");
+    }
+
+    @Test
+    void givenMalformedCursor_whenFindByBookerIdAndState_thenThrowException() {
+        client.get().uri("/bookings?cursor={cursor}", "%%%")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenNoBookerId_whenFindByBookerIdAndState_thenThrowException() {
+        client.get().uri("/bookings?state=ALL&from=0&size=2")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenFromLessThan0_whenFindByBookerIdAndState_thenThrowException() {
+        client.get().uri("/bookings?from=-1")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenSizeMoreThan100_whenFindByItemOwnerIdAndState_thenThrowException() {
+        client.get().uri("/bookings/owner?size=101")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenFullJdbcQueue_whenFindByItemOwnerIdAndState_thenServiceUnavailable() {
+        when(bookingService.findByItemOwnerIdAndState(anyLong(), anyString(), anyLong(), anyInt()))
+                .thenThrow(new RejectedExecutionException("queue is full"));
+
+        client.get().uri("/bookings/owner")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isEqualTo(503);
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StripedItemLockManagerTest {
+    private StripedItemLockManager itemLockManager;
+
+    @BeforeEach
+    void beforeEach() {
+        itemLockManager = new StripedItemLockManager(1000, Duration.ofMillis(100), new SimpleMeterRegistry());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            complete();
+    }
+
+    @Test
+    void stripe_whenStripesNotPowerOfTwo_thenRoundedUp() {
+        assertThat(itemLockManager.stripe(1024L), equalTo(itemLockManager.stripe(0L)));
+        assertThat(itemLockManager.stripe(1023L), not(equalTo(itemLockManager.stripe(0L))));
+    }
+
+    @Test
+    void lock_whenItemLockedByOtherTransaction_thenRejectedUntilItCompletes() throws Exception {
+        itemLockManager.lock(1L);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> lockInOtherTransaction(1L).get());
+        assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+
+        complete();
+        assertDoesNotThrow(() -> lockInOtherTransaction(1L).get());
+    }
+
+    @Test
+    void lock_whenOtherItemLocked_thenNotBlocked() {
+        itemLockManager.lock(1L);
+
+        assertDoesNotThrow(() -> lockInOtherTransaction(2L).get());
+    }
+
+    @Test
+    void lockAll_whenItemsShareStripe_thenLockedOnce() {
+        itemLockManager.lockAll(List.of(1L, 1025L, 1L));
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations().size(), equalTo(1));
+    }
+
+    @Test
+    void lock_whenNoTransaction_thenThrowException() {
+        complete();
+
+        assertThrows(IllegalStateException.class, () -> itemLockManager.lock(1L));
+    }
+
+    private CompletableFuture<Void> lockInOtherTransaction(long itemId) {
+        return CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                itemLockManager.lock(itemId);
+            } finally {
+                complete();
+            }
+        });
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
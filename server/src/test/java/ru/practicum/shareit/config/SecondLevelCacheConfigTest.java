@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"db.name=test", "shareit.booking.item-lock=advisory"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheConfigTest {
+    private final EntityManagerFactory emf;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void findById_whenItemLocksAdvisory_thenItemReadFromDatabase() {
+        SessionFactory sessionFactory = emf.unwrap(SessionFactory.class);
+        long ownerId = userService.save(new CreateUserRequest().setName("Игорь").setEmail("igor@mail.ru")).getId();
+        long itemId = itemService.saveItem(ownerId, new CreateItemRequest("Дрель", "Простая дрель", true, null))
+                .getId();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        itemService.findById(itemId);
+        itemService.findById(itemId);
+
+        assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled(), equalTo(false));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(0L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exception.UnknownStateException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "db.name=test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ServiceMetricsAspectTest {
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final MockMvc mvc;
+
+    @Test
+    void findByBookerIdAndState_whenCalled_thenTimedByServiceMethodAndState() {
+        long bookerId = saveUser();
+
+        bookingService.findByBookerIdAndState(bookerId, "current", 0L, 10);
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("service", "BookingServiceImpl",
+                        "method", "findByBookerIdAndState",
+                        "state", "CURRENT",
+                        "exception", "none")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+    }
+
+    @Test
+    void findByBookerIdAndState_whenStateUnknown_thenTimedWithCollapsedStateAndException() {
+        long bookerId = saveUser();
+
+        assertThrows(UnknownStateException.class,
+                () -> bookingService.findByBookerIdAndState(bookerId, "someday", 0L, 10));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "findByBookerIdAndState",
+                        "state", "UNKNOWN",
+                        "exception", "UnknownStateException")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+    }
+
+    @Test
+    void findByBookerIdAndState_whenUserUnknownAndStateGarbage_thenTimedWithCollapsedState() {
+        assertThrows(UserNotFoundException.class,
+                () -> bookingService.findByBookerIdAndState(999L, "garbage123", 0L, 10));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "findByBookerIdAndState",
+                        "state", "UNKNOWN",
+                        "exception", "UserNotFoundException")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+        assertThat(meterRegistry.find(ServiceMetricsAspect.METRIC_NAME).tag("state", "GARBAGE123").timer(),
+                nullValue());
+    }
+
+    @Test
+    void save_whenCalled_thenTimedWithoutState() {
+        saveUser();
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("service", "UserServiceImpl", "method", "save", "state", "none")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+    }
+
+    @Test
+    void save_whenCalled_thenRepositoryAndHibernateMetricsRecorded() {
+        saveUser();
+
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "method", "save")
+                .timer(), notNullValue());
+        assertThat(meterRegistry.find("hibernate.entities.inserts").functionCounter(), notNullValue());
+        assertThat(meterRegistry.find("hibernate.collections.fetches").functionCounter(), notNullValue());
+    }
+
+    @Test
+    void prometheus_whenScraped_thenServiceTimersExposed() throws Exception {
+        saveUser();
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_count{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("hibernate_entities_inserts_total{")));
+    }
+
+    private long saveUser() {
+        return userService.save(new CreateUserRequest()
+                .setName("Игорь")
+                .setEmail("igor@mail.ru")).getId();
+    }
+}
@@ -105,4 +105,18 @@ public class ErrorHandlerTests {
         ErrorResponse errorResponse = errorHandler.handleException(exception);
         assertEquals("Произошла непредвиденная ошибка.", errorResponse.getError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleBookingOverlapExceptionTest() {
+        BookingOverlapException bookingOverlapException = new BookingOverlapException("n");
+        ErrorResponse errorResponse = errorHandler.handleBookingOverlapException(bookingOverlapException);
+        assertEquals("Время бронирования занято.", errorResponse.getError());
+    }
+
+    @Test
+    void handleInvalidCursorExceptionTest() {
+        InvalidCursorException invalidCursorException = new InvalidCursorException("n");
+        ErrorResponse errorResponse = errorHandler.handleInvalidCursorException(invalidCursorException);
+        assertEquals("Некорректный курсор.", errorResponse.getError());
+    }
+}
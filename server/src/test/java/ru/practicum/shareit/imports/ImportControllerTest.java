@@ -0,0 +1,59 @@
+package ru.practicum.shareit.imports;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.util.LineFormat;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ImportController.class)
+class ImportControllerTest {
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    ImportService importService;
+
+    @Test
+    void importUsers_whenNdjson_thenReturnReport() throws Exception {
+        ImportReport report = new ImportReport(ImportEntity.USERS);
+        report.addRow();
+        report.addError(1, "Пользователь с email igor@mail.ru уже существует.");
+        when(importService.importRows(eq(ImportEntity.USERS), eq(LineFormat.NDJSON), any(InputStream.class)))
+                .thenReturn(report.finish(1_000_000));
+
+        mvc.perform(post("/import/users")
+                        .content("{\"name\": \"Игорь\", \"email\": \"igor@mail.ru\"}".getBytes(StandardCharsets.UTF_8))
+                        .contentType(LineFormat.NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entity").value("USERS"))
+                .andExpect(jsonPath("$.rows").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(1));
+    }
+
+    @Test
+    void importBookings_whenCsvWithCharset_thenImportAsCsv() throws Exception {
+        when(importService.importRows(eq(ImportEntity.BOOKINGS), eq(LineFormat.CSV), any(InputStream.class)))
+                .thenReturn(new ImportReport(ImportEntity.BOOKINGS).finish(1_000_000));
+
+        mvc.perform(post("/import/bookings")
+                        .content("bookerId,itemId,start,end")
+                        .contentType("text/csv;charset=UTF-8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entity").value("BOOKINGS"));
+        verify(importService).importRows(eq(ImportEntity.BOOKINGS), eq(LineFormat.CSV), any(InputStream.class));
+    }
+}
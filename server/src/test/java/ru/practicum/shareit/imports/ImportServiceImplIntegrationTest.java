@@ -0,0 +1,148 @@
+package ru.practicum.shareit.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.imports.dto.ImportError;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.util.LineFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static ru.practicum.shareit.util.Constants.DATE_TIME_FORMATTER;
+
+/**
+ * Not transactional on purpose: every chunk commits on its own, as in production.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"db.name=test", "shareit.import.chunk-size=2"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ImportServiceImplIntegrationTest {
+    private final ImportService importService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    @Test
+    void importRows_whenUsersNdjson_thenSaveValidAndReportRejectedLines() {
+        ImportReport report = importService.importRows(ImportEntity.USERS, LineFormat.NDJSON, input(
+                "{\"name\": \"Игорь\", \"email\": \"igor@mail.ru\"}",
+                "{\"name\": \"Павел\", \"email\": \"pavel@mail.ru\"}",
+                "",
+                "{\"name\": \"Игорь\", \"email\": \"igor@mail.ru\"}",
+                "{\"name\": \"Гоша\", \"email\": \"gosha\"}",
+                "{\"name\": \"Гоша\"",
+                "{\"name\": \"Гоша\", \"email\": \"gosha@mail.ru\"}"));
+
+        assertThat(report.getRows(), equalTo(6L));
+        assertThat(report.getImported(), equalTo(3L));
+        assertThat(report.getFailed(), equalTo(3L));
+        assertThat(lines(report), contains(4L, 5L, 6L));
+        assertThat(report.getErrors().get(0).getMessage(),
+                equalTo("Пользователь с email igor@mail.ru уже существует."));
+        assertThat(report.getErrors().get(1).getMessage(), startsWith("email: "));
+        assertThat(userService.findAll(0, 10).stream().map(UserResponse::getEmail).collect(Collectors.toList()),
+                contains("igor@mail.ru", "pavel@mail.ru", "gosha@mail.ru"));
+    }
+
+    @Test
+    void importRows_whenItemsCsv_thenSaveValidAndReportRejectedLines() {
+        importUsers();
+
+        ImportReport report = importService.importRows(ImportEntity.ITEMS, LineFormat.CSV, input(
+                "ownerId,name,description,available,requestId",
+                "1,Дрель,\"Ударная, 20V\",true,",
+                "99,Пила,Острая,true,",
+                ",Пила,Острая,true,",
+                "1,Пила,Острая,,",
+                "1,Лестница,\"Складная \"\"Ступень\"\"\",false,99",
+                "2,Палатка,Двухместная,true,"));
+
+        assertThat(report.getRows(), equalTo(6L));
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(lines(report), contains(3L, 4L, 5L, 6L));
+        assertThat(report.getErrors().stream().map(ImportError::getMessage).collect(Collectors.toList()), contains(
+                equalTo("Пользователь с id 99 не найден."),
+                equalTo("Не указан ownerId."),
+                startsWith("available: "),
+                equalTo("Запрос с id 99 не найден.")));
+        assertThat(itemService.findById(1L).getDescription(), equalTo("Ударная, 20V"));
+        assertThat(itemService.findById(2L).getOwner().getId(), equalTo(2L));
+    }
+
+    @Test
+    void importRows_whenGroupFailsInDatabase_thenReportItsRowsAndContinue() {
+        importUsers();
+        String tooLongName = "Д".repeat(300);
+
+        ImportReport report = importService.importRows(ImportEntity.ITEMS, LineFormat.NDJSON, input(
+                "{\"ownerId\": 1, \"name\": \"" + tooLongName + "\", \"description\": \"Ударная\", \"available\": true}",
+                "{\"ownerId\": 2, \"name\": \"Пила\", \"description\": \"Острая\", \"available\": true}",
+                "{\"ownerId\": 1, \"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}"));
+
+        assertThat(report.getRows(), equalTo(3L));
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(lines(report), contains(1L));
+        assertThat(report.getErrors().get(0).getMessage(), startsWith("Не удалось сохранить строку: "));
+        assertThat(itemService.findByOwnerId(1L, 0L, 10).size(), equalTo(1));
+        assertThat(itemService.findByOwnerId(2L, 0L, 10).size(), equalTo(1));
+    }
+
+    @Test
+    void importRows_whenBookingsNdjson_thenCheckBusinessRulesPerRow() {
+        importUsers();
+        importService.importRows(ImportEntity.ITEMS, LineFormat.NDJSON, input(
+                "{\"ownerId\": 1, \"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}"));
+        String start = LocalDateTime.now().plusDays(1).format(DATE_TIME_FORMATTER);
+        String end = LocalDateTime.now().plusDays(2).format(DATE_TIME_FORMATTER);
+
+        ImportReport report = importService.importRows(ImportEntity.BOOKINGS, LineFormat.NDJSON, input(
+                booking(2, start, end),
+                booking(2, start, end),
+                booking(1, start, end),
+                booking(2, end, start)));
+
+        assertThat(report.getImported(), equalTo(1L));
+        assertThat(report.getErrors().stream().map(ImportError::getMessage).collect(Collectors.toList()), contains(
+                "Предмет уже забронирован на это время.",
+                "Создание брони не доступно для владельца предмета.",
+                "Время начала использования вещи должно быть строго раньше времени окончания."));
+        assertThat(bookingService.findByBookerIdAndState(2L, "ALL", 0L, 10).size(), equalTo(1));
+    }
+
+    private void importUsers() {
+        importService.importRows(ImportEntity.USERS, LineFormat.CSV, input(
+                "name,email",
+                "Игорь,igor@mail.ru",
+                "Павел,pavel@mail.ru"));
+    }
+
+    private static String booking(long bookerId, String start, String end) {
+        return String.format("{\"bookerId\": %d, \"itemId\": 1, \"start\": \"%s\", \"end\": \"%s\"}",
+                bookerId, start, end);
+    }
+
+    private static List<Long> lines(ImportReport report) {
+        return report.getErrors().stream().map(ImportError::getLine).collect(Collectors.toList());
+    }
+
+    private static InputStream input(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -56,50 +56,10 @@ class ItemControllerTest {
         available = true;
         requestId = 1L;
         itemId = 1L;
-        lastBooking = new BookingShort() {
-            @Override
-            public long getId() {
-                return 1L;
-            }
-
-            @Override
-            public long getBookerId() {
-                return 1L;
-            }
-        };
-        nextBooking = new BookingShort() {
-            @Override
-            public long getId() {
-                return 2L;
-            }
-
-            @Override
-            public long getBookerId() {
-                return 2L;
-            }
-        };
+        lastBooking = new BookingShort(1L, 1L);
+        nextBooking = new BookingShort(2L, 2L);
         createCommentRequest = new CreateCommentRequest().setText("Дрель супер!");
-        commentResponse = new CommentResponse() {
-            @Override
-            public Long getId() {
-                return 1L;
-            }
-
-            @Override
-            public String getText() {
-                return createCommentRequest.getText();
-            }
-
-            @Override
-            public String getAuthorName() {
-                return "Павел";
-            }
-
-            @Override
-            public LocalDateTime getCreated() {
-                return LocalDateTime.now();
-            }
-        };
+        commentResponse = new CommentResponse(1L, createCommentRequest.getText(), "Павел", LocalDateTime.now());
         createItemRequest = new CreateItemRequest(name, description, available, requestId);
         updateItemRequest = new UpdateItemRequest(name, description, available);
         itemResponse = new ItemResponse(itemId, name, description, available, requestId);
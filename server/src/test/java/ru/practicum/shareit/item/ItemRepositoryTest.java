@@ -16,6 +16,7 @@ import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -56,7 +57,7 @@ class ItemRepositoryTest {
     @Test
     void searchAvailableItemsByText() {
         ItemResponse itemResponse = itemRepository
-                .searchAvailableItemsByText("дре", new OffsetBasedPageRequest(0, 1)).toList().get(0);
+                .searchAvailableItemsByText("дре", new OffsetBasedPageRequest(0, 1)).get(0);
 
         assertNotNull(itemResponse);
         assertNotNull(itemResponse.getId());
@@ -68,8 +69,7 @@ class ItemRepositoryTest {
 
     @Test
     void findByOwnerId() {
-        Item itemReturned = itemRepository.findByOwnerId(owner.getId(), new OffsetBasedPageRequest(0, 1))
-                .toList().get(0);
+        Item itemReturned = itemRepository.findByOwnerId(owner.getId(), new OffsetBasedPageRequest(0, 1)).get(0);
 
         assertNotNull(itemReturned);
         assertNotNull(itemReturned.getId());
@@ -79,4 +79,14 @@ class ItemRepositoryTest {
         assertNotNull(itemReturned.getOwner());
         assertNotNull(itemReturned.getRequest());
     }
+
+    @Test
+    void findItemResponsesByIdIn() {
+        List<ItemResponse> itemResponses = itemRepository.findItemResponsesByIdIn(List.of(item.getId(), 99L));
+
+        assertEquals(1, itemResponses.size());
+        assertEquals(item.getId(), itemResponses.get(0).getId());
+        assertEquals(item.getName(), itemResponses.get(0).getName());
+        assertEquals(request.getId(), itemResponses.get(0).getRequestId());
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +12,9 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.ItemBookingSummaries;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
@@ -18,6 +22,8 @@ import ru.practicum.shareit.request.RequestService;
 import ru.practicum.shareit.request.dto.CreateRequestRequest;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -31,7 +37,7 @@ import static org.hamcrest.Matchers.notNullValue;
 @Transactional
 @Rollback(value = true)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@SpringBootTest(properties = "db.name=test",
+@SpringBootTest(properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class ItemServiceImplIntegrationTest {
@@ -41,6 +47,7 @@ class ItemServiceImplIntegrationTest {
     private final BookingService bookingService;
     private final RequestService requestService;
     private final BookingRepository bookingRepository;
+    private final ItemBookingSummaries itemBookingSummaries;
 
     private static CreateUserRequest createUserRequest;
     private static CreateUserRequest createUserRequest2;
@@ -207,6 +214,38 @@ class ItemServiceImplIntegrationTest {
         assertThat(getItemResponse.getComments().size(), equalTo(1));
     }
 
+    @Test
+    void findDtoById_whenNextBookingStarted_thenSummaryRolledForward() {
+        long ownerId = 1L;
+        long bookerId = 2L;
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        itemService.saveItem(ownerId, new CreateItemRequest("Дрель", "Ударная 20V", true, null));
+        bookingService.save(bookerId, new CreateBookingRequest(1L,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingService.update(1L, ownerId, true);
+
+        assertThat(itemService.findDtoById(1L, ownerId).getNextBooking().getId(), equalTo(1L));
+
+        LocalDateTime started = LocalDateTime.now().minusMinutes(1).withNano(0);
+        em.flush();
+        em.createNativeQuery("update bookings set start_date = ?1").setParameter(1, started).executeUpdate();
+        em.createNativeQuery("update item_booking_summary set next_start = ?1").setParameter(1, started)
+                .executeUpdate();
+        em.clear();
+        GetItemResponse beforeRollForward = itemService.findDtoById(1L, ownerId);
+        assertThat(beforeRollForward.getLastBooking().getId(), equalTo(1L));
+        assertThat(beforeRollForward.getNextBooking(), equalTo(null));
+
+        itemBookingSummaries.rollForward();
+        em.flush();
+        em.clear();
+        ItemBookingSummary summary = em.find(ItemBookingSummary.class, 1L);
+        assertThat(summary.getLastBookingId(), equalTo(1L));
+        assertThat(summary.getLastStart(), equalTo(started));
+        assertThat(summary.getNextBookingId(), equalTo(null));
+    }
+
     @Test
     void findByOwnerId() {
         Long itemId = 1L;
@@ -233,6 +272,70 @@ class ItemServiceImplIntegrationTest {
         assertThat(getItemResponses.get(0).getAvailable(), equalTo(createItemRequest.getAvailable()));
     }
 
+    @Test
+    void findByOwnerId_whenSeveralItemsWithBookingsAndComments_thenStatementCountDoesNotDependOnPageSize() {
+        Long ownerId = 1L;
+        Long bookerId = 2L;
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        for (long itemId = 1; itemId <= 3; itemId++) {
+            itemService.saveItem(ownerId, new CreateItemRequest("Дрель " + itemId, "Ударная 20V", true, null));
+            long pastBookingId = bookingService.save(bookerId, new CreateBookingRequest(itemId,
+                    LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1))).getId();
+            bookingService.update(pastBookingId, ownerId, true);
+            long nextBookingId = bookingService.save(bookerId, new CreateBookingRequest(itemId,
+                    LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2))).getId();
+            bookingService.update(nextBookingId, ownerId, true);
+            itemService.saveComment(bookerId, itemId, createCommentRequest);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<GetItemResponse> firstPage = itemService.findByOwnerId(ownerId, 0L, 1);
+        long firstPageStatements = statistics.getPrepareStatementCount();
+        em.clear();
+
+        statistics.clear();
+        List<GetItemResponse> allItems = itemService.findByOwnerId(ownerId, 0L, 3);
+        long allItemsStatements = statistics.getPrepareStatementCount();
+
+        assertThat(firstPage.size(), equalTo(1));
+        assertThat(allItems.size(), equalTo(3));
+        assertThat(firstPageStatements, equalTo(3L));
+        assertThat(allItemsStatements, equalTo(3L));
+        allItems.forEach(getItemResponse -> {
+            assertThat(getItemResponse.getLastBooking(), notNullValue());
+            assertThat(getItemResponse.getNextBooking(), notNullValue());
+            assertThat(getItemResponse.getComments().size(), equalTo(1));
+        });
+    }
+
+    @Test
+    void findByOwnerId_whenWalkingCursorPages_thenReturnAllItemsInIdOrder() {
+        Long ownerId = 1L;
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        for (int i = 0; i < 3; i++)
+            itemService.saveItem(ownerId, new CreateItemRequest("Дрель " + i, "Ударная 20V", true, null));
+        itemService.saveItem(2L, new CreateItemRequest("Пила", "Цепная", true, null));
+
+        KeysetPage<GetItemResponse> firstPage = itemService.findByOwnerId(ownerId, (KeysetCursor) null, 2);
+        KeysetPage<GetItemResponse> secondPage = itemService.findByOwnerId(ownerId,
+                KeysetCursor.decode(firstPage.getNextCursor()), 2);
+
+        assertThat(firstPage.getContent().size(), equalTo(2));
+        assertThat(firstPage.getContent().get(0).getId(), equalTo(1L));
+        assertThat(firstPage.getContent().get(1).getId(), equalTo(2L));
+        assertThat(secondPage.getContent().size(), equalTo(1));
+        assertThat(secondPage.getContent().get(0).getId(), equalTo(3L));
+        assertThat(secondPage.getNextCursor(), equalTo(null));
+    }
+
     @Test
     void searchAvailableItemsByText() {
         Long itemId = 1L;
@@ -249,8 +352,11 @@ class ItemServiceImplIntegrationTest {
         bookingService.update(1L, ownerId, true);
         itemService.saveComment(authorId, 1L, createCommentRequest);
 
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
         List<ItemResponse> itemResponses = itemService.searchAvailableItemsByText("ДреЛ", 0L, 20);
 
+        assertThat("search runs no count query", statistics.getPrepareStatementCount(), equalTo(1L));
         assertThat(itemResponses.size(), equalTo(1));
         assertThat(itemResponses.get(0), notNullValue());
         assertThat(itemResponses.get(0).getId(), equalTo(itemId));
@@ -6,11 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaries;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.ItemBookingSummary;
 import ru.practicum.shareit.booking.entity.Status;
 import ru.practicum.shareit.exception.IncompatibleUserIdException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -19,6 +19,7 @@ import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.RequestService;
 import ru.practicum.shareit.request.entity.Request;
 import ru.practicum.shareit.user.UserService;
@@ -27,13 +28,18 @@ import ru.practicum.shareit.user.entity.User;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -70,13 +76,21 @@ class ItemServiceImplUnitTest {
     @Mock
     RequestService requestService;
 
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    ItemBookingSummaries itemBookingSummaries;
+
     @BeforeEach
     void beforeEach() {
         itemService = new ItemServiceImpl(itemRepository,
                 bookingRepository,
                 userService,
                 commentRepository,
-                requestService);
+                requestService,
+                itemSearchEngine,
+                itemBookingSummaries);
         itemServiceSpy = spy(itemService);
     }
 
@@ -172,7 +186,9 @@ class ItemServiceImplUnitTest {
         verify(userService, times(1)).findById(anyLong());
         verify(requestService, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).save(any(Item.class));
-        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
+        verify(itemSearchEngine, times(1)).index(item);
+        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
+                itemSearchEngine);
     }
 
     @Test
@@ -205,6 +221,29 @@ class ItemServiceImplUnitTest {
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
     }
 
+    @Test
+    void givenValidAndUnknownRequestIds_whenSaveAll_thenSaveValidAndReportInvalid() {
+        when(userService.findById(anyLong()))
+                .thenReturn(user);
+        when(requestService.findAllById(Set.of(request.getId(), 99L)))
+                .thenReturn(List.of(request));
+
+        List<CreateItemResult> results = itemService.saveAll(user.getId(), List.of(createItemRequest,
+                new CreateItemRequest(itemName, itemDescription, true, 99L), createItem2Request));
+        assertThat(results.get(0).getItem().getName(), equalTo(itemName));
+        assertThat(results.get(0).getItem().getRequestId(), equalTo(request.getId()));
+        assertThat(results.get(1).getItem(), equalTo(null));
+        assertThat(results.get(1).getError(), equalTo("Запрос с id 99 не найден."));
+        assertThat(results.get(2).getItem().getName(), equalTo(item2.getName()));
+        verify(userService, times(1)).findById(user.getId());
+        verify(requestService, times(1)).findAllById(anyCollection());
+        verify(itemRepository, times(1)).saveAll(anyCollection());
+        verify(itemRepository, times(1)).flush();
+        verify(itemSearchEngine, times(2)).index(any(Item.class));
+        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
+                itemSearchEngine);
+    }
+
     @Test
     void givenWithoutRequestId_whenSaveItem_thenReturnAnotherItemDto() {
         when(userService.findById(anyLong()))
@@ -253,8 +292,9 @@ class ItemServiceImplUnitTest {
         verify(itemServiceSpy, times(1)).update(anyLong(), anyLong(), any(UpdateItemRequest.class));
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemRepository, times(1)).flush();
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -276,8 +316,9 @@ class ItemServiceImplUnitTest {
         verify(itemServiceSpy, times(1)).update(anyLong(), anyLong(), any(UpdateItemRequest.class));
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemRepository, times(1)).flush();
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -291,7 +332,7 @@ class ItemServiceImplUnitTest {
         verify(userService, times(1)).findById(anyLong());
         verify(itemServiceSpy, times(1)).update(anyLong(), anyLong(), any(UpdateItemRequest.class));
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -308,7 +349,7 @@ class ItemServiceImplUnitTest {
         verify(itemServiceSpy, times(1)).update(anyLong(), anyLong(), any(UpdateItemRequest.class));
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -324,7 +365,7 @@ class ItemServiceImplUnitTest {
         verify(itemServiceSpy, times(1)).update(anyLong(), anyLong(), any(UpdateItemRequest.class));
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -357,24 +398,25 @@ class ItemServiceImplUnitTest {
 
     @Test
     void givenCorrectItemIdAndOwnerId_whenFindDtoById_thenReturnItemDto() {
-        Page<Booking> lastBooking = new PageImpl<>(List.of(booking));
-        Page<Booking> nextBooking = new PageImpl<>(Collections.emptyList());
+        ItemBookingSummary summary = new ItemBookingSummary()
+                .setItemId(item.getId())
+                .setLastBookingId(booking.getId())
+                .setLastBookerId(booking.getBooker().getId())
+                .setLastStart(booking.getStart());
 
         doReturn(item).when(itemServiceSpy).findById(anyLong());
         when(commentRepository.findByItem_IdOrderByCreatedAsc(anyLong()))
                 .thenReturn(List.of(CommentMapper.toCommentResponse(comment)));
-        when(bookingRepository.findLastBooking(anyLong(), any(Status.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(lastBooking);
-        when(bookingRepository.findNextBooking(anyLong(), any(Status.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(nextBooking);
+        when(itemBookingSummaries.findByItemIds(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(Map.of(item.getId(), summary));
 
         GetItemResponse getItemResponse = itemServiceSpy.findDtoById(item.getId(), item.getOwner().getId());
         assertThat(getItemResponse.getId(), equalTo(item.getId()));
         assertThat(getItemResponse.getName(), equalTo(item.getName()));
         assertThat(getItemResponse.getDescription(), equalTo(item.getDescription()));
         assertThat(getItemResponse.getAvailable(), equalTo(item.getAvailable()));
-        assertThat(getItemResponse.getLastBooking().getId(), equalTo(lastBooking.getContent().get(0).getId()));
-        assertThat(getItemResponse.getLastBooking().getBookerId(), equalTo(lastBooking.getContent().get(0).getBooker().getId()));
+        assertThat(getItemResponse.getLastBooking().getId(), equalTo(booking.getId()));
+        assertThat(getItemResponse.getLastBooking().getBookerId(), equalTo(booking.getBooker().getId()));
         assertThat(getItemResponse.getNextBooking(), equalTo(null));
         assertThat(getItemResponse.getComments().get(0).getId(), equalTo(item.getComments().get(0).getId()));
         assertThat(getItemResponse.getComments().get(0).getText(), equalTo(item.getComments().get(0).getText()));
@@ -383,27 +425,19 @@ class ItemServiceImplUnitTest {
         assertThat(getItemResponse.getComments().get(0).getCreated(), equalTo(item.getComments().get(0).getCreated()));
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verify(commentRepository, times(1)).findByItem_IdOrderByCreatedAsc(anyLong());
-        verify(bookingRepository, times(1)).findLastBooking(anyLong(), any(Status.class),
-                any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, times(1)).findNextBooking(anyLong(), any(Status.class),
-                any(LocalDateTime.class), any(Pageable.class));
+        verify(itemBookingSummaries, times(1)).findByItemIds(anyCollection(), any(LocalDateTime.class));
         verify(itemServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
     void givenWithoutCommentsAndBookings_whenFindDtoById_thenReturnItemDto() {
-        Page<Booking> lastBooking = new PageImpl<>(Collections.emptyList());
-        Page<Booking> nextBooking = new PageImpl<>(Collections.emptyList());
-
         doReturn(item2).when(itemServiceSpy).findById(anyLong());
         when(commentRepository.findByItem_IdOrderByCreatedAsc(anyLong()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findLastBooking(anyLong(), any(Status.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(lastBooking);
-        when(bookingRepository.findNextBooking(anyLong(), any(Status.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(nextBooking);
+        when(itemBookingSummaries.findByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyMap());
 
         GetItemResponse getItemResponse = itemServiceSpy.findDtoById(item2.getId(), item2.getOwner().getId());
         assertThat(getItemResponse.getId(), equalTo(item2.getId()));
@@ -415,13 +449,10 @@ class ItemServiceImplUnitTest {
         assertThat(getItemResponse.getComments(), equalTo(Collections.emptyList()));
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verify(commentRepository, times(1)).findByItem_IdOrderByCreatedAsc(anyLong());
-        verify(bookingRepository, times(1)).findLastBooking(anyLong(), any(Status.class),
-                any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, times(1)).findNextBooking(anyLong(), any(Status.class),
-                any(LocalDateTime.class), any(Pageable.class));
+        verify(itemBookingSummaries, times(1)).findByItemIds(anyCollection(), any(LocalDateTime.class));
         verify(itemServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -442,7 +473,7 @@ class ItemServiceImplUnitTest {
         verify(commentRepository, times(1)).findByItem_IdOrderByCreatedAsc(anyLong());
         verify(itemServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -455,15 +486,30 @@ class ItemServiceImplUnitTest {
         verify(itemServiceSpy, times(1)).findById(anyLong());
         verify(itemServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
     void givenOwnerIdAndFromAndSize_whenFindByOwnerId_thenReturnListOfItemDto() {
+        Comment itemComment = new Comment()
+                .setId(comment.getId())
+                .setText(comment.getText())
+                .setAuthor(comment.getAuthor())
+                .setItem(item);
+
         when(itemRepository.findByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(item)));
+                .thenReturn(List.of(item, item2));
+        when(itemBookingSummaries.findByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Map.of(item.getId(), new ItemBookingSummary()
+                        .setItemId(item.getId())
+                        .setLastBookingId(booking.getId())
+                        .setLastBookerId(booking.getBooker().getId())
+                        .setLastStart(booking.getStart())));
+        when(commentRepository.findByItemIdIn(anyCollection()))
+                .thenReturn(List.of(itemComment));
 
         List<GetItemResponse> getItemResponses = itemService.findByOwnerId(item.getOwner().getId(), 0L, 20);
+        assertThat(getItemResponses.size(), equalTo(2));
         assertThat(getItemResponses.get(0).getId(), equalTo(item.getId()));
         assertThat(getItemResponses.get(0).getName(), equalTo(item.getName()));
         assertThat(getItemResponses.get(0).getDescription(), equalTo(item.getDescription()));
@@ -471,20 +517,37 @@ class ItemServiceImplUnitTest {
         assertThat(getItemResponses.get(0).getLastBooking().getId(), equalTo(booking.getId()));
         assertThat(getItemResponses.get(0).getLastBooking().getBookerId(), equalTo(booking.getBooker().getId()));
         assertThat(getItemResponses.get(0).getNextBooking(), equalTo(null));
-        assertThat(getItemResponses.get(0).getComments().get(0).getId(), equalTo(item.getComments().get(0).getId()));
-        assertThat(getItemResponses.get(0).getComments().get(0).getText(), equalTo(item.getComments().get(0).getText()));
+        assertThat(getItemResponses.get(0).getComments().get(0).getId(), equalTo(itemComment.getId()));
+        assertThat(getItemResponses.get(0).getComments().get(0).getText(), equalTo(itemComment.getText()));
         assertThat(getItemResponses.get(0).getComments().get(0).getAuthorName(),
-                equalTo(item.getComments().get(0).getAuthor().getName()));
-        assertThat(getItemResponses.get(0).getComments().get(0).getCreated(), equalTo(item.getComments().get(0).getCreated()));
+                equalTo(itemComment.getAuthor().getName()));
+        assertThat(getItemResponses.get(0).getComments().get(0).getCreated(), equalTo(itemComment.getCreated()));
+        assertThat(getItemResponses.get(1).getId(), equalTo(item2.getId()));
+        assertThat(getItemResponses.get(1).getLastBooking(), equalTo(null));
+        assertThat(getItemResponses.get(1).getNextBooking(), equalTo(null));
+        assertThat(getItemResponses.get(1).getComments(), equalTo(Collections.emptyList()));
         verify(itemRepository, times(1)).findByOwnerId(anyLong(), any(Pageable.class));
-        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+        verify(itemBookingSummaries, times(1)).findByItemIds(eq(List.of(item.getId(), item2.getId())),
+                any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findByItemIdIn(List.of(item.getId(), item2.getId()));
+        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void givenOwnerWithoutItems_whenFindByOwnerId_thenReturnEmptyListWithoutBatchQueries() {
+        when(itemRepository.findByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        List<GetItemResponse> getItemResponses = itemService.findByOwnerId(user3.getId(), 0L, 20);
+        assertThat(getItemResponses, equalTo(Collections.emptyList()));
+        verify(itemRepository, times(1)).findByOwnerId(anyLong(), any(Pageable.class));
+        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
     }
 
     @Test
     void givenCorrectTextAndFromAndSize_whenSearchAvailableItemByText_thenReturnListOfItemDto() {
-        when(itemRepository.searchAvailableItemsByText(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(ItemMapper.toItemResponse(item))));
+        when(itemSearchEngine.search(anyString(), any(Pageable.class)))
+                .thenReturn(List.of(ItemMapper.toItemResponse(item)));
 
         List<ItemResponse> itemResponses = itemService.searchAvailableItemsByText(item.getName(), 0L, 20);
         List<ItemResponse> itemResponses2 = itemService.searchAvailableItemsByText(item.getDescription(), 0L, 20);
@@ -500,15 +563,17 @@ class ItemServiceImplUnitTest {
         assertThat(itemResponses2.get(0).getDescription(), equalTo(item.getDescription()));
         assertThat(itemResponses2.get(0).getAvailable(), equalTo(item.getAvailable()));
         assertThat(itemResponses2.get(0).getRequestId(), equalTo(item.getRequest().getId()));
-        verify(itemRepository, times(2)).searchAvailableItemsByText(anyString(), any(Pageable.class));
-        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
+        verify(itemSearchEngine, times(2)).search(anyString(), any(Pageable.class));
+        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
+                itemSearchEngine);
     }
 
     @Test
     void givenBlankText_whenSearchAvailableItemByText_thenReturnEmptyList() {
         List<ItemResponse> itemResponses = itemService.searchAvailableItemsByText(" ", 0L, 20);
         assertThat(itemResponses.size(), equalTo(0));
-        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
+        verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
+                itemSearchEngine);
     }
 
     @Test
@@ -541,7 +606,7 @@ class ItemServiceImplUnitTest {
         verify(itemServiceSpy, times(1)).saveComment(anyLong(), anyLong(),
                 any(CreateCommentRequest.class));
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository,
-                itemServiceSpy);
+                itemBookingSummaries, itemServiceSpy);
     }
 
     @Test
@@ -556,4 +621,4 @@ class ItemServiceImplUnitTest {
                 anyLong(), anyLong(), any(Status.class), any(LocalDateTime.class));
         verifyNoMoreInteractions(userService, requestService, itemRepository, bookingRepository, commentRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.config.ReactiveConfig;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.GetItemResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Constants.USER_ID_HEADER;
+
+@WebFluxTest(controllers = ReactiveItemController.class)
+@Import(ReactiveConfig.class)
+class ReactiveItemControllerTest {
+    @Autowired
+    private WebTestClient client;
+    @MockBean
+    ItemService itemService;
+
+    private ItemResponse itemResponse;
+    private GetItemResponse getItemResponse;
+
+    @BeforeEach
+    void beforeEach() {
+        itemResponse = new ItemResponse(1L, "Дрель", "Ударная", true, 1L);
+        getItemResponse = new GetItemResponse(1L, "Дрель", "Ударная", true,
+                new BookingShort(1L, 1L),
+                new BookingShort(2L, 2L),
+                List.of(new CommentResponse(1L, "Отличная дрель", "Иван", LocalDateTime.now())));
+    }
+
+    @Test
+    void givenCorrectItemIdAndOwnerId_whenFindById_thenReturnItemDto() {
+        when(itemService.findDtoById(anyLong(), anyLong()))
+                .thenReturn(getItemResponse);
+
+        client.get().uri("/items/{itemId}", 1L)
+                .header(USER_ID_HEADER, "1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(getItemResponse.getId())
+                .jsonPath("$.name").isEqualTo(getItemResponse.getName())
+                .jsonPath("$.description").isEqualTo(getItemResponse.getDescription())
+                .jsonPath("$.available").isEqualTo(getItemResponse.getAvailable())
+                .jsonPath("$.lastBooking").isNotEmpty()
+                .jsonPath("$.nextBooking").isNotEmpty()
+                .jsonPath("$.comments").isNotEmpty();
+    }
+
+    @Test
+    void givenNullPathVariable_whenFindById_thenThrowException() {
+        client.get().uri("/items/null")
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenNoUserIdHeader_whenFindById_thenThrowException() {
+        client.get().uri("/items/{itemId}", 1L)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenUnknownItemId_whenFindById_thenNotFound() {
+        when(itemService.findDtoById(anyLong(), anyLong()))
+                .thenThrow(new ItemNotFoundException("Предмет с id = 99 не найден"));
+
+        client.get().uri("/items/{itemId}", 99L)
+                .header(USER_ID_HEADER, "1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenCorrectTextWithoutFromAndSize_whenSearchAvailableItemsByText_thenReturnListOfItemDto() {
+        when(itemService.searchAvailableItemsByText(anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of(itemResponse, itemResponse));
+
+        client.get().uri("/items/search?text={text}", "Дрель")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(itemResponse.getId())
+                .jsonPath("$[0].name").isEqualTo(itemResponse.getName())
+                .jsonPath("$[0].description").isEqualTo(itemResponse.getDescription())
+                .jsonPath("$[0].available").isEqualTo(itemResponse.getAvailable());
+        verify(itemService).searchAvailableItemsByText("Дрель", 0L, 10);
+    }
+
+    @Test
+    void givenNoText_whenSearchAvailableItemsByText_thenThrowException() {
+        client.get().uri("/items/search?from=0&size=1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenFromLessThan0_whenSearchAvailableItemsByText_thenThrowException() {
+        client.get().uri("/items/search?text=a&from=-1&size=1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenSizeMoreThan100_whenSearchAvailableItemsByText_thenThrowException() {
+        client.get().uri("/items/search?text=a&from=0&size=101")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+    private InMemoryItemSearchEngine searchEngine;
+
+    private static final ItemResponse DRILL = new ItemResponse(1L, "Дрель", "Ударная 20V", true, null);
+    private static final ItemResponse SCREWDRIVER = new ItemResponse(2L, "Отвёртка", "Аккумуляторная дрель-шуруповёрт",
+            true, 5L);
+    private static final ItemResponse SAW = new ItemResponse(3L, "Пила", "Дисковая", false, null);
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        searchEngine = new InMemoryItemSearchEngine(itemRepository);
+        when(itemRepository.findAllItemResponses()).thenReturn(Stream.of(DRILL, SCREWDRIVER, SAW));
+        searchEngine.warmUp();
+    }
+
+    @Test
+    void givenPartOfWordInAnyCase_whenFindIds_thenReturnItemsContainingIt() {
+        assertThat(searchEngine.findIds("ДРЕл", new OffsetBasedPageRequest(0, 10)), contains(1L, 2L));
+        assertThat(searchEngine.findIds("рель", new OffsetBasedPageRequest(0, 10)), contains(1L, 2L));
+        assertThat(searchEngine.findIds("ль-шу", new OffsetBasedPageRequest(0, 10)), contains(2L));
+        assertThat(searchEngine.findIds("20v", new OffsetBasedPageRequest(0, 10)), contains(1L));
+        assertThat(searchEngine.findIds("ь", new OffsetBasedPageRequest(0, 10)), contains(1L, 2L));
+    }
+
+    @Test
+    void givenTextOfNotAvailableItem_whenFindIds_thenReturnEmptyList() {
+        assertThat(searchEngine.findIds("пила", new OffsetBasedPageRequest(0, 10)), empty());
+    }
+
+    @Test
+    void givenTextSpanningNameAndDescription_whenFindIds_thenReturnEmptyList() {
+        assertThat(searchEngine.findIds("дрельудар", new OffsetBasedPageRequest(0, 10)), empty());
+    }
+
+    @Test
+    void givenFromAndSize_whenFindIds_thenReturnPage() {
+        assertThat(searchEngine.findIds("дрел", new OffsetBasedPageRequest(1, 1)), contains(2L));
+    }
+
+    @Test
+    void givenUpdatedItem_whenIndex_thenOldTextIsNotFound() {
+        searchEngine.index(new Item().setId(1L).setName("Молоток").setDescription("Стальной").setAvailable(true));
+
+        assertThat(searchEngine.findIds("дрел", new OffsetBasedPageRequest(0, 10)), contains(2L));
+        assertThat(searchEngine.findIds("молот", new OffsetBasedPageRequest(0, 10)), contains(1L));
+        assertThat(searchEngine.size(), equalTo(3));
+    }
+
+    @Test
+    void givenOpenTransaction_whenIndex_thenVisibleOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(new Item().setId(1L).setName("Молоток").setDescription("Стальной").setAvailable(true));
+
+            assertThat(searchEngine.findIds("молот", new OffsetBasedPageRequest(0, 10)), empty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(searchEngine.findIds("молот", new OffsetBasedPageRequest(0, 10)), contains(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenRolledBackTransaction_whenIndex_thenOldTextIsStillFound() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(new Item().setId(1L).setName("Молоток").setDescription("Стальной").setAvailable(true));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(searchEngine.findIds("дрел", new OffsetBasedPageRequest(0, 10)), contains(1L, 2L));
+        assertThat(searchEngine.findIds("молот", new OffsetBasedPageRequest(0, 10)), empty());
+    }
+
+    @Test
+    void givenItemDeletedFromDatabase_whenSearch_thenSkipAndForgetIt() {
+        when(itemRepository.findItemResponsesByIdIn(anyCollection())).thenReturn(List.of(SCREWDRIVER));
+
+        List<ItemResponse> items = searchEngine.search("дрел", new OffsetBasedPageRequest(0, 10));
+
+        assertThat(items, contains(SCREWDRIVER));
+        assertThat(searchEngine.size(), equalTo(2));
+        verify(itemRepository, times(1)).findItemResponsesByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void givenItemDeletedFromDatabase_whenSearchPage_thenRefillPageFromIndex() {
+        when(itemRepository.findItemResponsesByIdIn(List.of(1L))).thenReturn(List.of());
+        when(itemRepository.findItemResponsesByIdIn(List.of(2L))).thenReturn(List.of(SCREWDRIVER));
+
+        List<ItemResponse> items = searchEngine.search("дрел", new OffsetBasedPageRequest(0, 1));
+
+        assertThat(items, contains(SCREWDRIVER));
+        assertThat(searchEngine.search("дрел", new OffsetBasedPageRequest(1, 1)), empty());
+        verify(itemRepository, times(1)).findItemResponsesByIdIn(List.of(1L));
+        verify(itemRepository, times(1)).findItemResponsesByIdIn(List.of(2L));
+    }
+
+    @Test
+    void givenTextWithoutMatches_whenSearch_thenNotQueryDatabase() {
+        assertThat(searchEngine.search("молоток", new OffsetBasedPageRequest(0, 10)), empty());
+        verify(itemRepository, times(1)).findAllItemResponses();
+        verifyNoMoreInteractions(itemRepository);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class PostgresItemSearchEngineTest {
+
+    @Test
+    void givenText_whenToPrefixTsQuery_thenEveryWordIsPrefixMatched() {
+        assertThat(PostgresItemSearchEngine.toPrefixTsQuery("Дрель  ударная"), equalTo("дрель:* & ударная:*"));
+        assertThat(PostgresItemSearchEngine.toPrefixTsQuery("20V!"), equalTo("20v:*"));
+        assertThat(PostgresItemSearchEngine.toPrefixTsQuery("'&|!"), equalTo(""));
+    }
+}
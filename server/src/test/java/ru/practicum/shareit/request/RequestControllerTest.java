@@ -98,7 +98,7 @@ class RequestControllerTest {
 
     @Test
     void givenCorrectRequestorId_whenFindByRequestorId_thenReturnListOfRequestDto() throws Exception {
-        when(requestService.findByRequestorId(anyLong()))
+        when(requestService.findByRequestorId(anyLong(), anyLong(), anyInt()))
                 .thenReturn(List.of(getRequestResponse, getRequestResponse));
 
         mvc.perform(get("/requests")
@@ -124,6 +124,18 @@ class RequestControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void givenSizeMoreThan100_whenFindByRequestorId_thenThrowException() throws Exception {
+        mvc.perform(get("/requests")
+                        .header(USER_ID_HEADER, requestorId)
+                        .param("from", "0")
+                        .param("size", "101")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenCorrectRequestorIdWithoutFromAndSize_whenFindRequestsForAnotherRequestors_thenReturnListOfRequestDto()
             throws Exception {
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,14 +10,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.request.dto.CreateRequestRequest;
 import ru.practicum.shareit.request.dto.GetRequestResponse;
 import ru.practicum.shareit.request.entity.Request;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -32,6 +39,7 @@ class RequestServiceImplIntegrationTest {
     private final EntityManager em;
     private final RequestService requestService;
     private final UserService userService;
+    private final ItemService itemService;
 
     private static CreateUserRequest createUserRequest;
     private static CreateUserRequest createUserRequest2;
@@ -95,7 +103,7 @@ class RequestServiceImplIntegrationTest {
         userService.save(createUserRequest2);
         requestService.save(createRequestRequest, requestorId);
 
-        List<GetRequestResponse> getRequestResponses = requestService.findByRequestorId(requestorId);
+        List<GetRequestResponse> getRequestResponses = requestService.findByRequestorId(requestorId, 0L, 10);
 
         assertThat(getRequestResponses.get(0).getId(), equalTo(requestId));
         assertThat(getRequestResponses.get(0).getDescription(), equalTo(createRequestRequest.getDescription()));
@@ -119,6 +127,30 @@ class RequestServiceImplIntegrationTest {
         assertThat(getRequestResponses.get(0).getCreated(), notNullValue());
     }
 
+    @Test
+    void findRequestsForAnotherRequestors_whenWalkingCursorPages_thenReturnNewestFirst() {
+        Long requestorId = 1L;
+
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        for (int i = 0; i < 5; i++)
+            requestService.save(createRequestRequest, requestorId);
+        em.flush();
+        em.clear();
+
+        List<Long> walkedIds = new ArrayList<>();
+        KeysetCursor cursor = null;
+        do {
+            KeysetPage<GetRequestResponse> page = requestService.findRequestsForAnotherRequestors(2L, cursor, 2);
+            page.getContent().forEach(getRequestResponse -> walkedIds.add(getRequestResponse.getId()));
+            cursor = KeysetCursor.decodeWithPosition(page.getNextCursor());
+        } while (cursor != null);
+
+        assertThat(walkedIds, equalTo(List.of(5L, 4L, 3L, 2L, 1L)));
+        assertThat(requestService.findRequestsForAnotherRequestors(requestorId, (KeysetCursor) null, 2).getContent().size(),
+                equalTo(0));
+    }
+
     @Test
     void findDtoById() {
         Long requestorId = 1L;
@@ -134,4 +166,65 @@ class RequestServiceImplIntegrationTest {
         assertThat(getRequestResponse.getDescription(), equalTo(createRequestRequest.getDescription()));
         assertThat(getRequestResponse.getCreated(), notNullValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByRequestorId_whenRequestsHaveItems_thenLoadItemsOfPageInOneQuery() {
+        Long requestorId = 1L;
+        saveRequestsWithItems(requestorId, 2L);
+        userService.checkExists(requestorId);
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<GetRequestResponse> firstPage = requestService.findByRequestorId(requestorId, 0L, 1);
+        long firstPageStatements = statistics.getPrepareStatementCount();
+        em.clear();
+
+        statistics.clear();
+        List<GetRequestResponse> allRequests = requestService.findByRequestorId(requestorId, 0L, 3);
+        long allRequestsStatements = statistics.getPrepareStatementCount();
+
+        assertThat(firstPage.size(), equalTo(1));
+        assertThat(firstPage.get(0).getId(), equalTo(3L));
+        assertThat(allRequests.size(), equalTo(3));
+        assertThat(firstPageStatements, equalTo(2L));
+        assertThat(allRequestsStatements, equalTo(2L));
+        allRequests.forEach(getRequestResponse -> assertThat(getRequestResponse.getItems().size(), equalTo(2)));
+    }
+
+    @Test
+    void findRequestsForAnotherRequestors_whenRequestsHaveItems_thenLoadItemsOfPageInOneQuery() {
+        saveRequestsWithItems(1L, 2L);
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<GetRequestResponse> offsetPage = requestService.findRequestsForAnotherRequestors(2L, 0L, 3);
+        long offsetPageStatements = statistics.getPrepareStatementCount();
+        em.clear();
+
+        statistics.clear();
+        KeysetPage<GetRequestResponse> keysetPage = requestService
+                .findRequestsForAnotherRequestors(2L, (KeysetCursor) null, 3);
+        long keysetPageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(offsetPage.size(), equalTo(3));
+        assertThat(keysetPage.getContent().size(), equalTo(3));
+        assertThat(offsetPageStatements, equalTo(2L));
+        assertThat(keysetPageStatements, equalTo(2L));
+        offsetPage.forEach(getRequestResponse -> assertThat(getRequestResponse.getItems().size(), equalTo(2)));
+        keysetPage.getContent()
+                .forEach(getRequestResponse -> assertThat(getRequestResponse.getItems().size(), equalTo(2)));
+    }
+
+    private void saveRequestsWithItems(Long requestorId, Long ownerId) {
+        userService.save(createUserRequest);
+        userService.save(createUserRequest2);
+        for (long requestId = 1; requestId <= 3; requestId++) {
+            requestService.save(createRequestRequest, requestorId);
+            itemService.saveItem(ownerId, new CreateItemRequest("Дрель " + requestId, "Ударная 20V", true, requestId));
+            itemService.saveItem(ownerId, new CreateItemRequest("Шуруповерт " + requestId, "Аккумуляторный", true,
+                    requestId));
+        }
+        em.flush();
+        em.clear();
+    }
+}
@@ -8,6 +8,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.request.dto.CreateRequestRequest;
 import ru.practicum.shareit.request.dto.CreateRequestResponse;
@@ -24,6 +26,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -43,9 +46,12 @@ class RequestServiceImplUnitTest {
     @Mock
     UserService userService;
 
+    @Mock
+    ItemRepository itemRepository;
+
     @BeforeEach
     void beforeEach() {
-        requestService = new RequestServiceImpl(requestRepository, userService);
+        requestService = new RequestServiceImpl(requestRepository, userService, itemRepository);
         requestServiceSpy = spy(requestService);
     }
 
@@ -133,12 +139,13 @@ class RequestServiceImplUnitTest {
 
     @Test
     void givenCorrectRequestorId_whenFindByRequestorId_thenReturnListOfRequestDto() {
-        when(userService.findById(anyLong()))
-                .thenReturn(user3);
-        when(requestRepository.findByRequestorId(user3.getId()))
+        when(requestRepository.findByRequestorId(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(request));
+        when(itemRepository.findItemResponsesByRequestIdIn(List.of(request.getId())))
+                .thenReturn(List.of(new ItemResponse(item.getId(), item.getName(), item.getDescription(),
+                        item.getAvailable(), request.getId())));
 
-        List<GetRequestResponse> getRequestResponses = requestService.findByRequestorId(user3.getId());
+        List<GetRequestResponse> getRequestResponses = requestService.findByRequestorId(user3.getId(), 0L, 10);
         assertThat(getRequestResponses.get(0).getId(), equalTo(request.getId()));
         assertThat(getRequestResponses.get(0).getDescription(), equalTo(request.getDescription()));
         assertThat(getRequestResponses.get(0).getCreated(), equalTo(request.getCreated()));
@@ -148,18 +155,18 @@ class RequestServiceImplUnitTest {
                 equalTo(request.getItems().get(0).getDescription()));
         assertThat(getRequestResponses.get(0).getItems().get(0).getAvailable(),
                 equalTo(request.getItems().get(0).getAvailable()));
-        verify(userService, times(1)).findById(anyLong());
-        verify(requestRepository, times(1)).findByRequestorId(anyLong());
-        verifyNoMoreInteractions(userService, requestRepository);
+        verify(userService, times(1)).checkExists(anyLong());
+        verify(requestRepository, times(1)).findByRequestorId(anyLong(), any(Pageable.class));
+        verify(itemRepository, times(1)).findItemResponsesByRequestIdIn(anyCollection());
+        verifyNoMoreInteractions(userService, requestRepository, itemRepository);
     }
 
     @Test
     void givenNonExistentRequestorId_whenFindByRequestorId_thenThrowException() {
-        when(userService.findById(anyLong()))
-                .thenThrow(NotFoundException.class);
+        doThrow(NotFoundException.class).when(userService).checkExists(anyLong());
 
-        assertThrows(NotFoundException.class, () -> requestService.findByRequestorId(99L));
-        verify(userService, times(1)).findById(anyLong());
+        assertThrows(NotFoundException.class, () -> requestService.findByRequestorId(99L, 0L, 10));
+        verify(userService, times(1)).checkExists(anyLong());
         verifyNoMoreInteractions(userService, requestRepository);
     }
 
@@ -172,13 +179,11 @@ class RequestServiceImplUnitTest {
                 0L, 20);
         assertThat(getRequestResponses.size(), equalTo(0));
         verify(requestRepository, times(1)).findByRequestorIdNot(anyLong(), any(Pageable.class));
-        verifyNoMoreInteractions(userService, requestRepository);
+        verifyNoMoreInteractions(userService, requestRepository, itemRepository);
     }
 
     @Test
     void givenCorrectRequestIdAndUserId_whenFindDtoById_thenReturnRequestDto() {
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
         doReturn(request).when(requestServiceSpy).findById(anyLong());
 
         GetRequestResponse getRequestResponse = requestServiceSpy.findDtoById(request.getId(), user.getId());
@@ -191,7 +196,7 @@ class RequestServiceImplUnitTest {
                 equalTo(request.getItems().get(0).getDescription()));
         assertThat(getRequestResponse.getItems().get(0).getAvailable(),
                 equalTo(request.getItems().get(0).getAvailable()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(requestServiceSpy, times(1)).findById(anyLong());
         verify(requestServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestRepository);
@@ -199,23 +204,20 @@ class RequestServiceImplUnitTest {
 
     @Test
     void givenNonExistentUserId_whenFindDtoById_thenThrowException() {
-        when(userService.findById(anyLong()))
-                .thenThrow(NotFoundException.class);
+        doThrow(NotFoundException.class).when(userService).checkExists(anyLong());
 
         assertThrows(NotFoundException.class, () -> requestServiceSpy.findDtoById(request.getId(), 99L));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(requestServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestRepository);
     }
 
     @Test
     void givenNonExistentRequestId_whenFindDtoById_thenThrowException() {
-        when(userService.findById(anyLong()))
-                .thenReturn(user);
         doThrow(NotFoundException.class).when(requestServiceSpy).findById(anyLong());
 
         assertThrows(NotFoundException.class, () -> requestServiceSpy.findDtoById(99L, user.getId()));
-        verify(userService, times(1)).findById(anyLong());
+        verify(userService, times(1)).checkExists(anyLong());
         verify(requestServiceSpy, times(1)).findById(anyLong());
         verify(requestServiceSpy, times(1)).findDtoById(anyLong(), anyLong());
         verifyNoMoreInteractions(userService, requestRepository);
@@ -11,18 +11,26 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
+import ru.practicum.shareit.util.LineFormat;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
 
 @WebMvcTest(controllers = UserController.class)
 class UserControllerTest {
@@ -98,7 +106,7 @@ class UserControllerTest {
 
     @Test
     void givenNotEmptyUsers_whenFindAll_thenReturnListOfUserDto() throws Exception {
-        when(userService.findAll())
+        when(userService.findAll(anyLong(), anyInt()))
                 .thenReturn(List.of(userResponse, userResponse));
 
         mvc.perform(get("/users")
@@ -114,7 +122,7 @@ class UserControllerTest {
 
     @Test
     void givenNoUsers_whenFindAll_thenReturnEmptyList() throws Exception {
-        when(userService.findAll())
+        when(userService.findAll(anyLong(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         mvc.perform(get("/users")
@@ -125,6 +133,61 @@ class UserControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void givenCursor_whenFindAll_thenReturnPageAndNextCursorHeader() throws Exception {
+        KeysetCursor cursor = KeysetCursor.of(userId);
+        when(userService.findAll(any(KeysetCursor.class), anyInt()))
+                .thenReturn(new KeysetPage<>(List.of(userResponse), "next"));
+
+        mvc.perform(get("/users")
+                        .param("size", "1")
+                        .param("cursor", cursor.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(userService).findAll(cursor, 1);
+    }
+
+    @Test
+    void givenSizeMoreThan100_whenFindAll_thenThrowException() throws Exception {
+        mvc.perform(get("/users")
+                        .param("from", "0")
+                        .param("size", "101")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenCsvFormat_whenExportAll_thenWriteHeaderAndQuotedRows() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponse> action = invocation.getArgument(0);
+            action.accept(userResponse);
+            action.accept(new UserResponse(2L, "Иванов, Иван", "ivan@mail.ru"));
+            return null;
+        }).when(userService).exportAll(any());
+
+        mvc.perform(get("/users/export")
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(LineFormat.CSV_VALUE))
+                .andExpect(content().string(UserExportWriter.CSV_HEADER + "\n"
+                        + "1,Павел,pavel@gmail.com\n"
+                        + "2,\"Иванов, Иван\",ivan@mail.ru\n"));
+    }
+
+    @Test
+    void givenNoUsers_whenExportAll_thenWriteEmptyNdjson() throws Exception {
+        mvc.perform(get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(LineFormat.NDJSON_VALUE))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void givenCorrectUserId_whenFindDtoById_thenReturnUserDto() throws Exception {
         when(userService.findDtoById(anyLong()))
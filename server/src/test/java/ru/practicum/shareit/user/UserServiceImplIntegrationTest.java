@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +13,14 @@ import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.KeysetPage;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -62,7 +67,7 @@ class UserServiceImplIntegrationTest {
         Long userId = 1L;
         userService.save(createUserRequest);
 
-        List<UserResponse> userResponses = userService.findAll();
+        List<UserResponse> userResponses = userService.findAll(0, 10);
 
         assertThat(userResponses.size(), equalTo(1));
         assertThat(userResponses.get(0).getId(), equalTo(userId));
@@ -70,6 +75,42 @@ class UserServiceImplIntegrationTest {
         assertThat(userResponses.get(0).getEmail(), equalTo(createUserRequest.getEmail()));
     }
 
+    @Test
+    void findAll_whenWalkingCursorPages_thenReturnAllUsersInIdOrder() {
+        for (int i = 1; i <= 5; i++)
+            userService.save(new CreateUserRequest().setName("Игорь " + i).setEmail("igor" + i + "@mail.ru"));
+        em.flush();
+        em.clear();
+
+        List<Long> walkedIds = new ArrayList<>();
+        KeysetCursor cursor = null;
+        do {
+            KeysetPage<UserResponse> page = userService.findAll(cursor, 2);
+            page.getContent().forEach(userResponse -> walkedIds.add(userResponse.getId()));
+            cursor = KeysetCursor.decode(page.getNextCursor());
+        } while (cursor != null);
+
+        assertThat(walkedIds, equalTo(List.of(1L, 2L, 3L, 4L, 5L)));
+        assertThat(userService.findAll(2, 2).stream().map(UserResponse::getId).collect(Collectors.toList()),
+                equalTo(List.of(3L, 4L)));
+    }
+
+    @Test
+    void exportAll_whenUsersExist_thenPassAllUsersInIdOrderWithoutManagingThem() {
+        for (int i = 1; i <= 3; i++)
+            userService.save(new CreateUserRequest().setName("Игорь " + i).setEmail("igor" + i + "@mail.ru"));
+        em.flush();
+        em.clear();
+
+        List<UserResponse> exported = new ArrayList<>();
+        userService.exportAll(exported::add);
+
+        assertThat(exported.stream().map(UserResponse::getId).collect(Collectors.toList()),
+                equalTo(List.of(1L, 2L, 3L)));
+        assertThat(exported.get(0).getEmail(), equalTo("igor1@mail.ru"));
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount(), equalTo(0));
+    }
+
     @Test
     void findDtoById() {
         Long userId = 1L;
@@ -1,25 +1,36 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.CreateUserResult;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +47,8 @@ class UserServiceImplUnitTest {
 
     @BeforeEach
     void beforeEach() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, new UserExistenceCache(100, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), new SimpleMeterRegistry()));
         userServiceSpy = spy(userService);
     }
 
@@ -70,16 +82,39 @@ class UserServiceImplUnitTest {
     }
 
     @Test
-    void givenUsersInRepository_whenFindAll_thenReturnListOfUserDto() {
-        when(userRepository.findAll())
+    void givenTakenAndRepeatedEmails_whenSaveAll_thenSaveOthersAndReportDuplicates() {
+        when(userRepository.findAllByEmailIn(anyCollection()))
                 .thenReturn(List.of(user));
+        when(userRepository.saveAll(anyCollection()))
+                .thenAnswer(invocation -> {
+                    Collection<User> users = invocation.getArgument(0);
+                    users.forEach(saved -> saved.setId(2L));
+                    return List.copyOf(users);
+                });
+        CreateUserRequest pavel = new CreateUserRequest().setName("Павел").setEmail("pavel@mail.ru");
+
+        List<CreateUserResult> results = userService.saveAll(List.of(createUserRequest, pavel, pavel));
+        assertThat(results.get(0).getError(), equalTo("Пользователь с email igor@mail.ru уже существует."));
+        assertThat(results.get(1).getUser().getEmail(), equalTo("pavel@mail.ru"));
+        assertThat(results.get(1).getError(), nullValue());
+        assertThat(results.get(2).getError(), equalTo("Пользователь с email pavel@mail.ru уже существует."));
+        verify(userRepository, times(1)).findAllByEmailIn(anyCollection());
+        verify(userRepository, times(1)).saveAll(anyCollection());
+        verify(userRepository, times(1)).flush();
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void givenUsersInRepository_whenFindAll_thenReturnListOfUserDto() {
+        when(userRepository.findUserResponses(any(Pageable.class)))
+                .thenReturn(List.of(UserMapper.toUserResponse(user)));
 
-        List<UserResponse> userResponses = userService.findAll();
+        List<UserResponse> userResponses = userService.findAll(0, 10);
         assertThat(userResponses.size(), equalTo(1));
         assertThat(userResponses.get(0).getId(), equalTo(user.getId()));
         assertThat(userResponses.get(0).getName(), equalTo(user.getName()));
         assertThat(userResponses.get(0).getEmail(), equalTo((user.getEmail())));
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findUserResponses(new OffsetBasedPageRequest(0, 10));
         verifyNoMoreInteractions(userRepository);
     }
 
@@ -162,6 +197,7 @@ class UserServiceImplUnitTest {
         userServiceSpy.delete(user.getId());
         verify(userServiceSpy, times(1)).findById(anyLong());
         verify(userRepository, times(1)).deleteById(anyLong());
+        verify(userRepository, times(1)).evictCascadedFromCache();
         verify(userServiceSpy, times(1)).delete(anyLong());
         verifyNoMoreInteractions(userRepository, userServiceSpy);
     }
@@ -175,4 +211,93 @@ class UserServiceImplUnitTest {
         verify(userServiceSpy, times(1)).delete(anyLong());
         verifyNoMoreInteractions(userRepository, userServiceSpy);
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenExistingUserId_whenCheckExistsTwice_thenQueryRepositoryOnce() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+
+        userService.checkExists(user.getId());
+        userService.checkExists(user.getId());
+        verify(userRepository, times(1)).existsById(anyLong());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void givenUserFoundById_whenCheckExists_thenNoRepositoryCall() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        userService.findById(user.getId());
+        userService.checkExists(user.getId());
+        verify(userRepository, times(1)).findById(anyLong());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void givenNonExistentUserId_whenCheckExistsTwice_thenThrowAndQueryRepositoryOnce() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> userService.checkExists(99L));
+        assertThrows(UserNotFoundException.class, () -> userService.checkExists(99L));
+        assertThrows(UserNotFoundException.class, () -> userService.findById(99L));
+        verify(userRepository, times(1)).existsById(anyLong());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void givenMissingUserIdCached_whenSaveUserWithThatId_thenCheckExistsQueriesAgain() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false, true);
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user);
+
+        assertThrows(UserNotFoundException.class, () -> userService.checkExists(user.getId()));
+        userService.save(createUserRequest);
+        userService.checkExists(user.getId());
+        verify(userRepository, times(2)).existsById(anyLong());
+        verify(userRepository, times(1)).save(any(User.class));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void givenCachedUser_whenDelete_thenCheckExistsQueriesAgain() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        userService.delete(user.getId());
+        assertThrows(UserNotFoundException.class, () -> userService.checkExists(user.getId()));
+        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).deleteById(anyLong());
+        verify(userRepository, times(1)).evictCascadedFromCache();
+        verify(userRepository, times(1)).existsById(anyLong());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void givenUserCachedAgainBeforeDeleteCommits_whenCommitted_thenCheckExistsQueriesAgain() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.delete(user.getId());
+            userService.findById(user.getId());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(UserNotFoundException.class, () -> userService.checkExists(user.getId()));
+        verify(userRepository, times(2)).findById(anyLong());
+        verify(userRepository, times(1)).deleteById(anyLong());
+        verify(userRepository, times(1)).evictCascadedFromCache();
+        verify(userRepository, times(1)).existsById(anyLong());
+        verifyNoMoreInteractions(userRepository);
+    }
+}
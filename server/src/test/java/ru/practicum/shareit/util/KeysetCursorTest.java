@@ -0,0 +1,71 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecodeWithPosition() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5, 6000), 42L);
+
+        assertEquals(cursor, KeysetCursor.decodeWithPosition(cursor.encode()));
+    }
+
+    @Test
+    void encodeAndDecodeWithoutPosition() {
+        KeysetCursor cursor = KeysetCursor.of(42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        assertNull(decoded.getPosition());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void decodeBlankTokenReturnsNull() {
+        assertNull(KeysetCursor.decode(""));
+        assertNull(KeysetCursor.decode(null));
+    }
+
+    @Test
+    void decodeMalformedTokenThrowsException() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+
+    @Test
+    void decodeTokenOfOtherShapeThrowsException() {
+        String positioned = KeysetCursor.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5), 42L).encode();
+        String idOnly = KeysetCursor.of(42L).encode();
+
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decodeWithPosition(idOnly));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(positioned));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decodeWithPosition("bm90LWEtZGF0ZX40Mg"));
+    }
+
+    @Test
+    void pageWithExtraRowHasNextCursor() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(5L, 4L, 3L), 2, KeysetCursor::of);
+
+        assertEquals(List.of(5L, 4L), page.getContent());
+        assertEquals(KeysetCursor.of(4L), KeysetCursor.decode(page.getNextCursor()));
+        ResponseEntity<List<Long>> response = page.toResponseEntity();
+        assertEquals(page.getNextCursor(), response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(5L, 4L), 2, KeysetCursor::of);
+
+        assertEquals(List.of(5L, 4L), page.getContent());
+        assertNull(page.getNextCursor());
+        assertFalse(page.toResponseEntity().getHeaders().containsKey(NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+    private static final long TICK = 10;
+
+    @Test
+    void advance_whenDeadlineReached_thenDueOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 3, 0);
+        wheel.schedule("a", 25);
+
+        assertEquals(List.of(), advance(wheel, 29), "Запись не должна истечь раньше срока.");
+        assertEquals(List.of("a"), advance(wheel, 30));
+        assertEquals(List.of(), advance(wheel, 100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_whenDeadlinePassedBeforeSchedule_thenDueOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 3, 1_000);
+        wheel.schedule("a", 500);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("a"), advance(wheel, 1_000));
+    }
+
+    @Test
+    void advance_whenDeadlinesOnEveryLevelAndBeyond_thenEachDueOnceNotEarlyAndWithinTick() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 4, 3, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = random.nextInt(3_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        long previous = 0;
+        for (long now = 0; now <= 3_500; now += 1 + random.nextInt(40)) {
+            for (Integer value : advance(wheel, now)) {
+                assertNull(firedAt.put(value, now), "Запись " + value + " истекла дважды.");
+                long due = (deadlines.get(value) + TICK - 1) / TICK * TICK;
+                assertTrue(now >= deadlines.get(value), "Запись " + value + " истекла раньше срока.");
+                assertTrue(previous < due, "Запись " + value + " пропустила свой такт.");
+            }
+            previous = now;
+        }
+        assertEquals(deadlines.keySet(), firedAt.keySet());
+        assertEquals(0, wheel.size());
+    }
+
+    private static <T> List<T> advance(TimingWheel<T> wheel, long now) {
+        List<T> due = new ArrayList<>();
+        wheel.advance(now, due::add);
+        return due;
+    }
+}
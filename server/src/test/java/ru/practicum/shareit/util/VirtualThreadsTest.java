@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void newThreadPerTaskExecutorRunsTaskOnNamedVirtualThread() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-virtual-");
+
+        String name = executor.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertEquals("test-virtual-0", name);
+    }
+
+    @Test
+    void newThreadPerTaskExecutorWithoutVirtualThreadsFails() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThrows(IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-virtual-"));
+    }
+}
@@ -1,13 +0,0 @@
-package ru.practicum.shareit.request;
-
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.request.entity.Request;
-
-import java.util.List;
-
-public interface RequestRepository extends JpaRepository<Request, Long> {
-    List<Request> findByRequestorId(Long requestorId);
-
-    List<Request> findByRequestorIdNot(Long requestorId, Pageable page);
-}
\ No newline at end of file
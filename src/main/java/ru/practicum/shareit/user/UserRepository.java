@@ -1,8 +0,0 @@
-package ru.practicum.shareit.user;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.user.entity.User;
-
-
-public interface UserRepository extends JpaRepository<User, Long> {
-}